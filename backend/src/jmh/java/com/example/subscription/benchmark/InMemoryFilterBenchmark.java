@@ -0,0 +1,89 @@
+package com.example.subscription.benchmark;
+
+import com.example.subscription.model.Subscription;
+import com.example.subscription.model.SubscriptionStatus;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The same reads as {@link SubscriptionQueryBenchmark} done over the dataset held in memory, as a
+ * floor for what the database round trip and mapping cost on top.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class InMemoryFilterBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private List<Subscription> subscriptions;
+    private LocalDate today;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        today = LocalDate.now();
+        subscriptions = SyntheticDataset.generate(rows, today).subscriptions();
+    }
+
+    @Benchmark
+    public List<Subscription> listFilteredByStatus() {
+        return live().filter(s -> s.getStatus() == SubscriptionStatus.RENEWAL_REQUIRED).toList();
+    }
+
+    @Benchmark
+    public List<Subscription> listFilteredBySearch() {
+        return live()
+                .filter(s -> s.getStatus() == SubscriptionStatus.ACTIVE)
+                .filter(s -> s.getSubscriber().getSearchText().contains("sub-0001"))
+                .toList();
+    }
+
+    @Benchmark
+    public List<Subscription> historyOfLastMonth() {
+        LocalDate month = today.minusMonths(1);
+        return live()
+                .filter(s -> s.getStartDate().getYear() == month.getYear() && s.getStartDate().getMonth() == month.getMonth())
+                .sorted(Comparator.comparing(Subscription::getStartDate).thenComparing(Subscription::getId).reversed())
+                .toList();
+    }
+
+    @Benchmark
+    public List<Subscription> notificationsDaily() {
+        LocalDate from = today.minusDays(2);
+        LocalDate to = today.plusDays(14);
+        return live()
+                .filter(s -> !s.getEndDate().isBefore(from) && !s.getEndDate().isAfter(to))
+                .sorted(Comparator.comparing(Subscription::getEndDate))
+                .toList();
+    }
+
+    @Benchmark
+    public long searchTextScan() {
+        String needle = "martin".toLowerCase(Locale.ROOT);
+        return subscriptions.stream().map(Subscription::getSubscriber).distinct().filter(s -> s.getSearchText().contains(needle)).count();
+    }
+
+    private Stream<Subscription> live() {
+        return subscriptions.stream().filter(s -> !s.getDeleted() && !s.getSubscriber().getDeleted());
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.subscription.benchmark;
+
+import com.example.subscription.service.JwtService;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Token signing and verification. {@code verifyCached} replays one token, as a client reusing its
+ * token does; {@code verifyUncached} rotates through more tokens than the verified-token cache
+ * holds, so every call parses and checks the signature.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "YmVuY2htYXJrLXNlY3JldC1rZXktZm9yLWp3dC1zZXJ2aWNlLTI1Ni1iaXRz";
+    private static final int TOKENS = 1024;
+
+    private JwtService cachingService;
+    private JwtService uncachedService;
+    private String token;
+    private String[] tokens;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        cachingService = new JwtService(SECRET, 3_600_000, 10_000);
+        uncachedService = new JwtService(SECRET, 3_600_000, 1);
+        token = cachingService.generateToken("bench-user");
+        tokens = new String[TOKENS];
+        for (int i = 0; i < TOKENS; i++) {
+            tokens[i] = uncachedService.generateToken("bench-user-" + i);
+        }
+    }
+
+    @Benchmark
+    public String generate() {
+        return cachingService.generateToken("bench-user");
+    }
+
+    @Benchmark
+    public Optional<String> verifyCached() {
+        return cachingService.verifiedUsername(token);
+    }
+
+    @Benchmark
+    public Optional<String> verifyUncached() {
+        next = (next + 1) % TOKENS;
+        return uncachedService.verifiedUsername(tokens[next]);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.subscription.benchmark;
+
+import com.example.subscription.service.SubscriberCodeAllocator;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Subscriber code allocation as used by single creates and imports. The dataset holds one
+ * subscriber per {@value SyntheticDataset#SUBSCRIPTIONS_PER_SUBSCRIBER} subscriptions, each with a
+ * code, so larger sizes mean more collisions to retry.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SubscriberCodeBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private SubscriberCodeAllocator allocator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("codes-" + rows);
+        SyntheticDataset.generate(rows, LocalDate.now()).insert(context.getBean(JdbcTemplate.class));
+        allocator = context.getBean(SubscriberCodeAllocator.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String allocateOne() {
+        return allocator.allocate();
+    }
+
+    @Benchmark
+    public List<String> allocateImportBatch() {
+        return allocator.allocate(1000);
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.subscription.benchmark;
+
+import com.example.subscription.dto.CursorPage;
+import com.example.subscription.dto.NotificationResponse;
+import com.example.subscription.dto.SubscriptionView;
+import com.example.subscription.model.SubscriptionStatus;
+import com.example.subscription.service.ExpiryCalendar;
+import com.example.subscription.service.NotificationService;
+import com.example.subscription.service.SubscriptionService;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/** Subscription list, history and notification reads through the services, on H2. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SubscriptionQueryBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private SubscriptionService subscriptionService;
+    private NotificationService notificationService;
+    private LocalDate today;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("query-" + rows);
+        today = LocalDate.now();
+        SyntheticDataset.generate(rows, today).insert(context.getBean(JdbcTemplate.class));
+        // the calendar was loaded from the empty database when the context became ready
+        context.getBean(ExpiryCalendar.class).build();
+        subscriptionService = context.getBean(SubscriptionService.class);
+        notificationService = context.getBean(NotificationService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<SubscriptionView> listFilteredByStatus() {
+        return subscriptionService.listFiltered(null, null, SubscriptionStatus.RENEWAL_REQUIRED, null, null);
+    }
+
+    @Benchmark
+    public List<SubscriptionView> listFilteredBySearch() {
+        return subscriptionService.listFiltered(null, null, SubscriptionStatus.ACTIVE, null, "sub-0001");
+    }
+
+    @Benchmark
+    public CursorPage<SubscriptionView> listFirstPage() {
+        return subscriptionService.listPage(null, null, null, null, null, null, 50);
+    }
+
+    @Benchmark
+    public List<SubscriptionView> historyOfLastMonth() {
+        LocalDate month = today.minusMonths(1);
+        return subscriptionService.history(month.getYear(), month.getMonthValue(), null, null, null, null, null);
+    }
+
+    @Benchmark
+    public CursorPage<SubscriptionView> historyFirstPage() {
+        return subscriptionService.historyPage(null, null, null, null, null, null, null, null, 50);
+    }
+
+    @Benchmark
+    public List<NotificationResponse> notificationsDaily() {
+        return notificationService.daily(today);
+    }
+
+    /** A day other than the calendar's, computed from the database on every call. */
+    @Benchmark
+    public List<NotificationResponse> notificationsOtherDay() {
+        return notificationService.daily(today.plusDays(1));
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.subscription.benchmark;
+
+import com.example.subscription.config.SyntheticDataGenerator;
+import com.example.subscription.model.SearchText;
+import com.example.subscription.model.Subscriber;
+import com.example.subscription.model.Subscription;
+import com.example.subscription.model.SubscriptionStatus;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Deterministic subscribers and subscriptions for benchmarks: the same size and seed always give
+ * the same rows, so runs can be compared. Rows are built as detached entities for the in-memory
+ * benchmarks and written with batched JDBC for the database ones. Names and statuses follow the
+ * {@code synthetic-data} profile's {@link SyntheticDataGenerator}.
+ */
+final class SyntheticDataset {
+
+    static final long SEED = 20240601L;
+    static final int SUBSCRIPTIONS_PER_SUBSCRIBER = 4;
+    /** Seeded IDs start here, far above anything the application allocates from its sequences. */
+    static final long ID_OFFSET = 10_000_000L;
+
+    private static final int INSERT_CHUNK = 10_000;
+
+    private final List<Subscriber> subscribers;
+    private final List<Subscription> subscriptions;
+
+    private SyntheticDataset(List<Subscriber> subscribers, List<Subscription> subscriptions) {
+        this.subscribers = subscribers;
+        this.subscriptions = subscriptions;
+    }
+
+    static SyntheticDataset generate(int subscriptionCount, LocalDate today) {
+        Random random = new Random(SEED);
+        int subscriberCount = Math.max(1, subscriptionCount / SUBSCRIPTIONS_PER_SUBSCRIBER);
+
+        List<Subscriber> subscribers = new ArrayList<>(subscriberCount);
+        for (int i = 0; i < subscriberCount; i++) {
+            Subscriber subscriber = new Subscriber();
+            subscriber.setId(ID_OFFSET + i);
+            subscriber.setFirstName(SyntheticDataGenerator.firstName(random));
+            subscriber.setLastName(SyntheticDataGenerator.lastName(random));
+            subscriber.setEmail("bench" + i + "@example.org");
+            subscriber.setCode(String.format("SUB-%06d", i));
+            subscriber.setCreatedAt(today.minusDays(random.nextInt(1095)));
+            if (random.nextInt(100) == 0) {
+                subscriber.setDeleted(true);
+                subscriber.setDeletedAt(today.atStartOfDay());
+            }
+            subscriber.setSearchText(SearchText.of(subscriber.getFirstName(), subscriber.getLastName(), subscriber.getEmail(), subscriber.getCode()));
+            subscribers.add(subscriber);
+        }
+
+        List<Subscription> subscriptions = new ArrayList<>(subscriptionCount);
+        for (int i = 0; i < subscriptionCount; i++) {
+            LocalDate start = today.minusDays(random.nextInt(1095));
+            LocalDate end = start.plusDays(30 + random.nextInt(336));
+            Subscription subscription = new Subscription();
+            subscription.setId(ID_OFFSET + i);
+            subscription.setSubscriber(subscribers.get(random.nextInt(subscriberCount)));
+            subscription.setStartDate(start);
+            subscription.setEndDate(end);
+            subscription.setAmount(BigDecimal.valueOf(500 + random.nextInt(9500), 2));
+            subscription.setStatus(SubscriptionStatus.of(end, today));
+            if (random.nextInt(50) == 0) {
+                subscription.setDeleted(true);
+                subscription.setDeletedAt(LocalDateTime.of(end, LocalTime.NOON));
+            } else if (subscription.getSubscriber().getDeleted()) {
+                // deleting a subscriber deletes its live subscriptions too
+                subscription.setDeleted(true);
+                subscription.setDeletedAt(subscription.getSubscriber().getDeletedAt());
+            }
+            subscriptions.add(subscription);
+        }
+        return new SyntheticDataset(subscribers, subscriptions);
+    }
+
+    List<Subscriber> subscribers() {
+        return subscribers;
+    }
+
+    List<Subscription> subscriptions() {
+        return subscriptions;
+    }
+
+    /** Inserts the rows and moves the ID sequences past them. */
+    void insert(JdbcTemplate jdbc) {
+        for (int from = 0; from < subscribers.size(); from += INSERT_CHUNK) {
+            jdbc.batchUpdate(
+                    "INSERT INTO subscribers (id, first_name, last_name, email, code, created_at, is_deleted, deleted_at, search_text) "
+                            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                    subscribers.subList(from, Math.min(from + INSERT_CHUNK, subscribers.size())),
+                    INSERT_CHUNK,
+                    (ps, s) -> {
+                        ps.setLong(1, s.getId());
+                        ps.setString(2, s.getFirstName());
+                        ps.setString(3, s.getLastName());
+                        ps.setString(4, s.getEmail());
+                        ps.setString(5, s.getCode());
+                        ps.setDate(6, Date.valueOf(s.getCreatedAt()));
+                        ps.setBoolean(7, s.getDeleted());
+                        ps.setObject(8, s.getDeletedAt());
+                        ps.setString(9, s.getSearchText());
+                    });
+        }
+        for (int from = 0; from < subscriptions.size(); from += INSERT_CHUNK) {
+            jdbc.batchUpdate(
+                    "INSERT INTO subscriptions (id, start_date, end_date, amount, status, is_deleted, deleted_at, subscriber_id) "
+                            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                    subscriptions.subList(from, Math.min(from + INSERT_CHUNK, subscriptions.size())),
+                    INSERT_CHUNK,
+                    (ps, s) -> {
+                        ps.setLong(1, s.getId());
+                        ps.setDate(2, Date.valueOf(s.getStartDate()));
+                        ps.setDate(3, Date.valueOf(s.getEndDate()));
+                        ps.setBigDecimal(4, s.getAmount());
+                        ps.setString(5, s.getStatus().name());
+                        ps.setBoolean(6, s.getDeleted());
+                        ps.setObject(7, s.getDeletedAt());
+                        ps.setLong(8, s.getSubscriber().getId());
+                    });
+        }
+        jdbc.execute("ALTER SEQUENCE subscribers_seq RESTART WITH " + (ID_OFFSET + subscribers.size()));
+        jdbc.execute("ALTER SEQUENCE subscriptions_seq RESTART WITH " + (ID_OFFSET + subscriptions.size()));
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.subscription.loadtest;
+
+import com.example.subscription.BackendApplication;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Starts the application in-process on an in-memory H2 database filled by the synthetic data
+ * generator, for runs without {@code --base-url}. Each start gets its own database.
+ */
+final class EmbeddedApplication implements AutoCloseable {
+
+    private final ConfigurableApplicationContext context;
+
+    private EmbeddedApplication(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    static EmbeddedApplication start(int syntheticSubscribers, boolean virtualThreads, List<String> applicationArgs) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:loadtest-" + (virtualThreads ? "virtual" : "platform") + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--server.port=0",
+                "--app.synthetic-data.subscribers=" + syntheticSubscribers,
+                "--logging.level.root=WARN"));
+        args.addAll(applicationArgs);
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(BackendApplication.class).logStartupInfo(false);
+        builder = virtualThreads ? builder.profiles("synthetic-data", "virtual-threads") : builder.profiles("synthetic-data");
+        return new EmbeddedApplication(builder.run(args.toArray(String[]::new)));
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
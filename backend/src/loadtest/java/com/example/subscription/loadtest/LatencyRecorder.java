@@ -0,0 +1,60 @@
+package com.example.subscription.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Latencies and error count of one operation. Each worker owns its recorders, so recording takes
+ * no lock; they are merged once the run ends.
+ */
+final class LatencyRecorder {
+
+    private long[] nanos = new long[1024];
+    private int count;
+    private long errors;
+
+    void record(long elapsedNanos, boolean success) {
+        if (count == nanos.length) {
+            nanos = Arrays.copyOf(nanos, count * 2);
+        }
+        nanos[count++] = elapsedNanos;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    void merge(LatencyRecorder other) {
+        if (count + other.count > nanos.length) {
+            nanos = Arrays.copyOf(nanos, Math.max(nanos.length * 2, count + other.count));
+        }
+        System.arraycopy(other.nanos, 0, nanos, count, other.count);
+        count += other.count;
+        errors += other.errors;
+    }
+
+    LoadReport.EndpointStats stats(double seconds) {
+        long[] sorted = Arrays.copyOf(nanos, count);
+        Arrays.sort(sorted);
+        return new LoadReport.EndpointStats(
+                count,
+                errors,
+                count == 0 ? 0 : (double) errors / count,
+                count / seconds,
+                millis(percentile(sorted, 0.50)),
+                millis(percentile(sorted, 0.95)),
+                millis(percentile(sorted, 0.99)),
+                millis(count == 0 ? 0 : sorted[count - 1]));
+    }
+
+    /** Nearest-rank percentile: the smallest sample with at least {@code p} of samples at or below it. */
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(p * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+}
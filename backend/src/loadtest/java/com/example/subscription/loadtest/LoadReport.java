@@ -0,0 +1,108 @@
+package com.example.subscription.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/** Result of one run, written as JSON so a later run can be compared against it as a baseline. */
+record LoadReport(
+        String startedAt,
+        String target,
+        int concurrency,
+        double durationSeconds,
+        Map<String, Integer> mix,
+        EndpointStats total,
+        Map<String, EndpointStats> endpoints) {
+
+    record EndpointStats(
+            long requests,
+            long errors,
+            double errorRate,
+            double throughput,
+            double p50Ms,
+            double p95Ms,
+            double p99Ms,
+            double maxMs) {
+    }
+
+    private static final double ERROR_RATE_TOLERANCE = 0.001;
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    void write(Path path) throws IOException {
+        if (path.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+        }
+        MAPPER.writeValue(path.toFile(), this);
+    }
+
+    static LoadReport read(Path path) throws IOException {
+        return MAPPER.readValue(path.toFile(), LoadReport.class);
+    }
+
+    void print(PrintStream out) {
+        out.printf("%n%-22s %9s %8s %9s %9s %9s %9s %9s%n", "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        endpoints.forEach((name, stats) -> printRow(out, name, stats));
+        printRow(out, "TOTAL", total);
+    }
+
+    /** Prints throughput and tail latency of two runs of the same load, per operation. */
+    static void printComparison(PrintStream out, String leftName, LoadReport left, String rightName, LoadReport right) {
+        out.printf("%n%-22s %21s %21s %21s%n", "", "req/s", "p95 ms", "p99 ms");
+        out.printf("%-22s %10s %10s %10s %10s %10s %10s%n", "endpoint", leftName, rightName, leftName, rightName, leftName, rightName);
+        left.endpoints().forEach((name, stats) -> {
+            EndpointStats other = right.endpoints().get(name);
+            if (other != null) {
+                printComparisonRow(out, name, stats, other);
+            }
+        });
+        printComparisonRow(out, "TOTAL", left.total(), right.total());
+    }
+
+    /**
+     * Lists what got worse than {@code baseline} by more than {@code threshold} (0.10 = 10%): p95 or
+     * p99 latency up, throughput down, or error rate up (beyond a 0.1 point tolerance). Endpoints
+     * missing from either side are skipped.
+     */
+    List<String> regressionsAgainst(LoadReport baseline, double threshold) {
+        List<String> regressions = new ArrayList<>();
+        compare(regressions, "TOTAL", baseline.total(), total, threshold);
+        endpoints.forEach((name, stats) -> {
+            EndpointStats before = baseline.endpoints().get(name);
+            if (before != null) {
+                compare(regressions, name, before, stats, threshold);
+            }
+        });
+        return regressions;
+    }
+
+    private static void compare(List<String> regressions, String name, EndpointStats before, EndpointStats after, double threshold) {
+        if (after.p95Ms() > before.p95Ms() * (1 + threshold)) {
+            regressions.add(String.format("%s p95 %.1f ms -> %.1f ms", name, before.p95Ms(), after.p95Ms()));
+        }
+        if (after.p99Ms() > before.p99Ms() * (1 + threshold)) {
+            regressions.add(String.format("%s p99 %.1f ms -> %.1f ms", name, before.p99Ms(), after.p99Ms()));
+        }
+        if (after.throughput() < before.throughput() * (1 - threshold)) {
+            regressions.add(String.format("%s throughput %.1f req/s -> %.1f req/s", name, before.throughput(), after.throughput()));
+        }
+        if (after.errorRate() > before.errorRate() * (1 + threshold) + ERROR_RATE_TOLERANCE) {
+            regressions.add(String.format("%s error rate %.2f%% -> %.2f%%", name, before.errorRate() * 100, after.errorRate() * 100));
+        }
+    }
+
+    private static void printComparisonRow(PrintStream out, String name, EndpointStats left, EndpointStats right) {
+        out.printf("%-22s %10.1f %10.1f %10.1f %10.1f %10.1f %10.1f%n",
+                name, left.throughput(), right.throughput(), left.p95Ms(), right.p95Ms(), left.p99Ms(), right.p99Ms());
+    }
+
+    private static void printRow(PrintStream out, String name, EndpointStats stats) {
+        out.printf("%-22s %9d %8d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                name, stats.requests(), stats.errors(), stats.throughput(), stats.p50Ms(), stats.p95Ms(), stats.p99Ms(), stats.maxMs());
+    }
+}
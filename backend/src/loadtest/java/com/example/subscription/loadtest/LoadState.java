@@ -0,0 +1,46 @@
+package com.example.subscription.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/** IDs the operations work on: existing subscribers and the subscriptions this run created. */
+final class LoadState {
+
+    record CreatedSubscription(long id, long subscriberId) {
+    }
+
+    private final List<Long> subscriberIds = new ArrayList<>();
+    private final ConcurrentLinkedQueue<CreatedSubscription> subscriptions = new ConcurrentLinkedQueue<>();
+
+    static LoadState load(ApiClient client) throws IOException, InterruptedException {
+        LoadState state = new LoadState();
+        for (JsonNode subscriber : client.json(client.get("/api/subscribers"))) {
+            state.addSubscriber(subscriber.path("id").asLong());
+        }
+        if (state.subscriberIds.isEmpty()) {
+            throw new IllegalStateException("The target has no subscribers to load-test against");
+        }
+        return state;
+    }
+
+    synchronized void addSubscriber(long id) {
+        subscriberIds.add(id);
+    }
+
+    synchronized long anySubscriber(SplittableRandom random) {
+        return subscriberIds.get(random.nextInt(subscriberIds.size()));
+    }
+
+    void addSubscription(CreatedSubscription subscription) {
+        subscriptions.add(subscription);
+    }
+
+    /** Removes a subscription created by this run, or returns null when none is left. */
+    CreatedSubscription takeSubscription() {
+        return subscriptions.poll();
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.subscription.loadtest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop HTTP load test: {@code concurrency} workers log in once, then call a weighted mix of
+ * operations back to back for the warm-up and the measured phase. Only the measured phase is
+ * reported, per operation and in total, and compared against a stored baseline.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        int status;
+        if (options.baseUrl() != null) {
+            status = publish(options, measure(options, options.baseUrl()), options.report());
+        } else if (options.executionMode() == LoadTestOptions.ExecutionMode.BOTH) {
+            status = compareExecutionModes(options);
+        } else {
+            status = publish(options, measureEmbedded(options, options.executionMode() == LoadTestOptions.ExecutionMode.VIRTUAL), options.report());
+        }
+        System.exit(status);
+    }
+
+    /**
+     * Runs the same load against the embedded application on platform threads, then on virtual
+     * threads, and prints the two side by side. Each report is written next to {@code --report}.
+     */
+    private static int compareExecutionModes(LoadTestOptions options) throws Exception {
+        LoadReport platform = measureEmbedded(options, false);
+        int status = publish(options, platform, suffixed(options.report(), "platform"));
+        LoadReport virtual;
+        try {
+            virtual = measureEmbedded(options, true);
+        } catch (RuntimeException e) {
+            System.out.println("Virtual-thread mode could not start: " + rootMessage(e));
+            return status;
+        }
+        status = Math.max(status, publish(options, virtual, suffixed(options.report(), "virtual")));
+        LoadReport.printComparison(System.out, "platform", platform, "virtual", virtual);
+        return status;
+    }
+
+    private static LoadReport measureEmbedded(LoadTestOptions options, boolean virtualThreads) throws Exception {
+        try (EmbeddedApplication embedded = EmbeddedApplication.start(options.syntheticSubscribers(), virtualThreads, options.applicationArgs())) {
+            return measure(options, embedded.baseUrl());
+        }
+    }
+
+    private static LoadReport measure(LoadTestOptions options, String baseUrl) throws Exception {
+        ApiClient client = new ApiClient(baseUrl);
+        client.login(options.username(), options.password());
+        LoadState state = LoadState.load(client);
+        Operation[] schedule = schedule(options.mix());
+
+        System.out.printf("Load test against %s: %d workers, %ds warm-up, %ds measured%n",
+                baseUrl, options.concurrency(), options.warmup().toSeconds(), options.duration().toSeconds());
+        ExecutorService workers = Executors.newFixedThreadPool(options.concurrency());
+        try {
+            runPhase(workers, options.concurrency(), options.warmup(), client, state, schedule);
+            Instant startedAt = Instant.now();
+            long start = System.nanoTime();
+            List<Map<Operation, LatencyRecorder>> results = runPhase(workers, options.concurrency(), options.duration(), client, state, schedule);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            return report(options, baseUrl, startedAt, seconds, results);
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    /** Runs every worker until {@code duration} has elapsed and returns what each one recorded. */
+    private static List<Map<Operation, LatencyRecorder>> runPhase(
+            ExecutorService workers, int concurrency, Duration duration, ApiClient client, LoadState state, Operation[] schedule)
+            throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<Map<Operation, LatencyRecorder>>> futures = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            SplittableRandom random = new SplittableRandom(i * 0x9E3779B97F4A7C15L + System.nanoTime());
+            futures.add(workers.submit(() -> work(deadline, client, state, schedule, random)));
+        }
+        List<Map<Operation, LatencyRecorder>> results = new ArrayList<>();
+        for (Future<Map<Operation, LatencyRecorder>> future : futures) {
+            results.add(future.get());
+        }
+        return results;
+    }
+
+    private static Map<Operation, LatencyRecorder> work(
+            long deadline, ApiClient client, LoadState state, Operation[] schedule, SplittableRandom random) {
+        Map<Operation, LatencyRecorder> recorders = new EnumMap<>(Operation.class);
+        while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+            Operation operation = schedule[random.nextInt(schedule.length)];
+            long start = System.nanoTime();
+            int status;
+            try {
+                status = operation.call(client, state, random);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                status = 0;
+            }
+            if (status != Operation.SKIPPED) {
+                recorders.computeIfAbsent(operation, key -> new LatencyRecorder())
+                        .record(System.nanoTime() - start, Operation.isSuccess(status));
+            }
+        }
+        return recorders;
+    }
+
+    /** Expands the weights into a lookup table so picking an operation is one random index. */
+    private static Operation[] schedule(Map<Operation, Integer> mix) {
+        List<Operation> schedule = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                schedule.add(operation);
+            }
+        });
+        if (schedule.isEmpty()) {
+            throw new IllegalArgumentException("The operation mix has no positive weight");
+        }
+        return schedule.toArray(Operation[]::new);
+    }
+
+    private static LoadReport report(
+            LoadTestOptions options, String baseUrl, Instant startedAt, double seconds, List<Map<Operation, LatencyRecorder>> results) {
+        Map<Operation, LatencyRecorder> merged = new EnumMap<>(Operation.class);
+        LatencyRecorder total = new LatencyRecorder();
+        for (Map<Operation, LatencyRecorder> result : results) {
+            result.forEach((operation, recorder) -> {
+                merged.computeIfAbsent(operation, key -> new LatencyRecorder()).merge(recorder);
+                total.merge(recorder);
+            });
+        }
+        Map<String, LoadReport.EndpointStats> endpoints = new LinkedHashMap<>();
+        merged.forEach((operation, recorder) -> endpoints.put(operation.label(), recorder.stats(seconds)));
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        options.mix().forEach((operation, weight) -> mix.put(operation.label(), weight));
+        return new LoadReport(startedAt.toString(), baseUrl, options.concurrency(), seconds, mix, total.stats(seconds), endpoints);
+    }
+
+    /** Prints and writes the report, compares it with the baseline and returns the exit status. */
+    private static int publish(LoadTestOptions options, LoadReport report, Path path) throws Exception {
+        report.print(System.out);
+        report.write(path);
+        System.out.println("Report written to " + path);
+        if (options.saveBaseline() != null) {
+            report.write(options.saveBaseline());
+            System.out.println("Baseline saved to " + options.saveBaseline());
+        }
+        if (options.baseline() == null || !Files.exists(options.baseline())) {
+            return 0;
+        }
+        List<String> regressions = report.regressionsAgainst(LoadReport.read(options.baseline()), options.regressionThreshold());
+        if (regressions.isEmpty()) {
+            System.out.printf("No regression against %s (threshold %.0f%%)%n", options.baseline(), options.regressionThreshold() * 100);
+            return 0;
+        }
+        System.out.printf("%d regression(s) against %s (threshold %.0f%%):%n", regressions.size(), options.baseline(), options.regressionThreshold() * 100);
+        regressions.forEach(regression -> System.out.println("  " + regression));
+        return options.failOnRegression() ? 1 : 0;
+    }
+
+    private static Path suffixed(Path report, String suffix) {
+        String name = report.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return report.resolveSibling(dot < 0 ? name + "-" + suffix : name.substring(0, dot) + "-" + suffix + name.substring(dot));
+    }
+
+    private static String rootMessage(Throwable error) {
+        Throwable root = error;
+        while (root.getCause() != null) {
+            root = root.getCause();
+        }
+        return root.getMessage();
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.subscription.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Command line of {@link LoadTest}, as {@code --name=value} pairs. Without {@code --base-url} the
+ * application is started in-process on H2 and filled by the synthetic data generator, in the given
+ * execution mode; {@code --spring.*} and {@code --app.*} arguments are passed on to it.
+ */
+record LoadTestOptions(
+        String baseUrl,
+        String username,
+        String password,
+        Duration warmup,
+        Duration duration,
+        int concurrency,
+        Map<Operation, Integer> mix,
+        int syntheticSubscribers,
+        Path report,
+        Path baseline,
+        Path saveBaseline,
+        double regressionThreshold,
+        boolean failOnRegression,
+        ExecutionMode executionMode,
+        List<String> applicationArgs) {
+
+    /** Threads serving requests in the embedded application; BOTH runs platform then virtual and compares. */
+    enum ExecutionMode {
+        PLATFORM,
+        VIRTUAL,
+        BOTH
+    }
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new LinkedHashMap<>();
+        List<String> applicationArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            if (arg.startsWith("--spring.") || arg.startsWith("--app.")) {
+                applicationArgs.add(arg);
+                continue;
+            }
+            values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        return new LoadTestOptions(
+                values.get("base-url"),
+                values.getOrDefault("username", "admin"),
+                values.getOrDefault("password", "admin123"),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("warmup-seconds", "10"))),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration-seconds", "60"))),
+                Integer.parseInt(values.getOrDefault("concurrency", "16")),
+                parseMix(values.get("mix")),
+                Integer.parseInt(values.getOrDefault("synthetic-subscribers", "5000")),
+                Path.of(values.getOrDefault("report", "target/loadtest-report.json")),
+                values.containsKey("baseline") ? Path.of(values.get("baseline")) : null,
+                values.containsKey("save-baseline") ? Path.of(values.get("save-baseline")) : null,
+                Double.parseDouble(values.getOrDefault("regression-threshold", "0.10")),
+                Boolean.parseBoolean(values.getOrDefault("fail-on-regression", "false")),
+                ExecutionMode.valueOf(values.getOrDefault("execution-mode", "platform").toUpperCase(Locale.ROOT)),
+                List.copyOf(applicationArgs));
+    }
+
+    /** {@code listSubscriptions:30,history:20,...}; operations left out keep their default weight. */
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new LinkedHashMap<>();
+        for (Operation operation : Operation.values()) {
+            mix.put(operation, operation.defaultWeight());
+        }
+        if (value == null || value.isBlank()) {
+            return mix;
+        }
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split(":");
+            mix.put(Operation.byName(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.subscription.loadtest;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+/**
+ * The calls the harness mixes, each with its default weight. {@link #call} returns the HTTP
+ * status, or {@link #SKIPPED} when the operation had nothing to work on.
+ */
+enum Operation {
+
+    LIST_SUBSCRIPTIONS("listSubscriptions", 25) {
+        @Override
+        int call(ApiClient client, LoadState state, SplittableRandom random) throws IOException, InterruptedException {
+            return client.get("/api/subscriptions?limit=50").statusCode();
+        }
+    },
+    SEARCH_SUBSCRIPTIONS("searchSubscriptions", 10) {
+        @Override
+        int call(ApiClient client, LoadState state, SplittableRandom random) throws IOException, InterruptedException {
+            return client.get("/api/subscriptions?limit=50&search=" + SEARCHES[random.nextInt(SEARCHES.length)]).statusCode();
+        }
+    },
+    LIST_SUBSCRIBERS("listSubscribers", 10) {
+        @Override
+        int call(ApiClient client, LoadState state, SplittableRandom random) throws IOException, InterruptedException {
+            return client.get("/api/subscribers?search=" + SEARCHES[random.nextInt(SEARCHES.length)]).statusCode();
+        }
+    },
+    HISTORY("history", 15) {
+        @Override
+        int call(ApiClient client, LoadState state, SplittableRandom random) throws IOException, InterruptedException {
+            LocalDate month = LocalDate.now().minusMonths(random.nextInt(24));
+            return client.get("/api/subscriptions/history?limit=50&year=" + month.getYear() + "&month=" + month.getMonthValue()).statusCode();
+        }
+    },
+    NOTIFICATIONS("notifications", 15) {
+        @Override
+        int call(ApiClient client, LoadState state, SplittableRandom random) throws IOException, InterruptedException {
+            return client.get("/api/notifications/daily").statusCode();
+        }
+    },
+    CREATE_SUBSCRIBER("createSubscriber", 5) {
+        @Override
+        int call(ApiClient client, LoadState state, SplittableRandom random) throws IOException, InterruptedException {
+            String email = "load." + System.nanoTime() + "." + random.nextInt(1_000_000) + "@example.org";
+            HttpResponse<String> response = client.send("POST", "/api/subscribers",
+                    "{\"firstName\":\"Load\",\"lastName\":\"Test\",\"email\":\"" + email + "\"}");
+            if (isSuccess(response.statusCode())) {
+                state.addSubscriber(client.json(response).path("id").asLong());
+            }
+            return response.statusCode();
+        }
+    },
+    CREATE_SUBSCRIPTION("createSubscription", 10) {
+        @Override
+        int call(ApiClient client, LoadState state, SplittableRandom random) throws IOException, InterruptedException {
+            long subscriberId = state.anySubscriber(random);
+            HttpResponse<String> response = client.send("POST", "/api/subscriptions", subscriptionJson(subscriberId, random));
+            if (isSuccess(response.statusCode())) {
+                state.addSubscription(new LoadState.CreatedSubscription(client.json(response).path("id").asLong(), subscriberId));
+            }
+            return response.statusCode();
+        }
+    },
+    UPDATE_SUBSCRIPTION("updateSubscription", 5) {
+        @Override
+        int call(ApiClient client, LoadState state, SplittableRandom random) throws IOException, InterruptedException {
+            LoadState.CreatedSubscription subscription = state.takeSubscription();
+            if (subscription == null) {
+                return SKIPPED;
+            }
+            int status = client.send("PUT", "/api/subscriptions/" + subscription.id(), subscriptionJson(subscription.subscriberId(), random)).statusCode();
+            state.addSubscription(subscription);
+            return status;
+        }
+    },
+    DELETE_SUBSCRIPTION("deleteSubscription", 5) {
+        @Override
+        int call(ApiClient client, LoadState state, SplittableRandom random) throws IOException, InterruptedException {
+            LoadState.CreatedSubscription subscription = state.takeSubscription();
+            return subscription == null ? SKIPPED : client.send("DELETE", "/api/subscriptions/" + subscription.id(), null).statusCode();
+        }
+    };
+
+    static final int SKIPPED = -1;
+
+    private static final String[] SEARCHES = {"martin", "nadia", "karim", "ben", "example", "syn-0001", "lea"};
+
+    private final String label;
+    private final int defaultWeight;
+
+    Operation(String label, int defaultWeight) {
+        this.label = label;
+        this.defaultWeight = defaultWeight;
+    }
+
+    abstract int call(ApiClient client, LoadState state, SplittableRandom random) throws IOException, InterruptedException;
+
+    String label() {
+        return label;
+    }
+
+    int defaultWeight() {
+        return defaultWeight;
+    }
+
+    static Operation byName(String label) {
+        for (Operation operation : values()) {
+            if (operation.label.equalsIgnoreCase(label)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation " + label);
+    }
+
+    static boolean isSuccess(int status) {
+        return status >= 200 && status < 300;
+    }
+
+    private static String subscriptionJson(long subscriberId, SplittableRandom random) {
+        LocalDate start = LocalDate.now().minusDays(random.nextInt(60));
+        LocalDate end = start.plusDays(30 + random.nextInt(336));
+        BigDecimal amount = BigDecimal.valueOf(500 + random.nextInt(9500), 2);
+        return "{\"startDate\":\"" + start + "\",\"endDate\":\"" + end + "\",\"amount\":" + amount + ",\"subscriberId\":" + subscriberId + "}";
+    }
+}
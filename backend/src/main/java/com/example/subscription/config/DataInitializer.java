@@ -12,16 +12,21 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 @Component
+@DependsOn("idSequenceMigration")
 @RequiredArgsConstructor
 public class DataInitializer {
 
     private final UserService userService;
     private final SubscriberRepository subscriberRepository;
     private final SubscriptionRepository subscriptionRepository;
+    private final Environment environment;
 
     @PostConstruct
     @Transactional
@@ -33,6 +38,10 @@ public class DataInitializer {
         if (!userServiceExists("admin")) {
             userService.save("admin", "admin123", AppUser.Role.ADMIN);
         }
+        if (environment.acceptsProfiles(Profiles.of(SyntheticDataGenerator.PROFILE))) {
+            // SyntheticDataGenerator fills the tables instead of the demo rows.
+            return;
+        }
 
         Subscriber alice = subscriberRepository.save(buildSubscriber("Alice", "Martin", "alice@example.com", "+33 6 00 00 00 00"));
         Subscriber bob = subscriberRepository.save(buildSubscriber("Bob", "Dupont", "bob@example.com", "+33 6 11 22 33 44"));
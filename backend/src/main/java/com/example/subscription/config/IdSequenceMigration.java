@@ -0,0 +1,55 @@
+package com.example.subscription.config;
+
+import jakarta.annotation.PostConstruct;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves tables created with IDENTITY ids onto the pooled sequences the entities now use. On
+ * PostgreSQL each sequence is created if needed and advanced past the table's highest id, and the
+ * identity default is dropped. Runs on every start; sequences are only ever moved forward.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@Slf4j
+@RequiredArgsConstructor
+public class IdSequenceMigration {
+
+    /** Table to sequence; the increment must match the entities' {@code allocationSize}. */
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "subscribers", "subscribers_seq",
+            "subscriptions", "subscriptions_seq",
+            "app_users", "app_users_seq");
+    private static final int ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void migrate() {
+        if (!isPostgres()) {
+            return;
+        }
+        SEQUENCES.forEach((table, sequence) -> {
+            jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + sequence + " START WITH 1 INCREMENT BY " + ALLOCATION_SIZE);
+            jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id DROP IDENTITY IF EXISTS");
+            jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id DROP DEFAULT");
+            // The pooled optimizer hands out the block ending at the value it reads, so the next
+            // value must sit at least one allocation past the current maximum id.
+            Long value = jdbcTemplate.queryForObject(
+                    "SELECT setval('" + sequence + "', GREATEST((SELECT last_value FROM " + sequence + "), "
+                            + "(SELECT COALESCE(MAX(id), 0) FROM " + table + ") + " + ALLOCATION_SIZE + "))",
+                    Long.class);
+            log.debug("Sequence {} positioned at {}.", sequence, value);
+        });
+    }
+
+    private boolean isPostgres() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        return "PostgreSQL".equalsIgnoreCase(product);
+    }
+}
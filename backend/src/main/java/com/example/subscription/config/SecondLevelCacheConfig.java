@@ -0,0 +1,67 @@
+package com.example.subscription.config;
+
+import com.example.subscription.model.Subscriber;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.MissingCacheStrategy;
+import org.hibernate.cfg.CacheSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hibernate second-level and query cache on an in-process Caffeine JCache manager. The regions are
+ * created here with their bounds and Hibernate fails on any other one instead of creating it
+ * unbounded. Writes through Hibernate, bulk JPQL included, keep the regions coherent; the TTL only
+ * bounds staleness from writes that bypass it (plain JDBC, other instances). The update timestamps
+ * region has one entry per table and is never evicted, as the query cache requires.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+    static final String DEFAULT_QUERY_RESULTS_REGION = "default-query-results-region";
+
+    @Bean(destroyMethod = "close")
+    CacheManager hibernateCacheManager(
+            @Value("${app.cache.subscribers.max-size:50000}") long subscribersMaxSize,
+            @Value("${app.cache.subscribers.ttl-ms:600000}") long subscribersTtlMs,
+            @Value("${app.cache.subscriber-queries.max-size:1000}") long queriesMaxSize) {
+        // one manager per application context, so test contexts do not share regions
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+        cacheManager.createCache(Subscriber.CACHE_REGION, region(subscribersMaxSize, subscribersTtlMs));
+        cacheManager.createCache(Subscriber.QUERY_CACHE_REGION, region(queriesMaxSize, subscribersTtlMs));
+        cacheManager.createCache(DEFAULT_QUERY_RESULTS_REGION, region(queriesMaxSize, subscribersTtlMs));
+        cacheManager.createCache(UPDATE_TIMESTAMPS_REGION, new CaffeineConfiguration<>());
+        return cacheManager;
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer secondLevelCacheProperties(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(CacheSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(CacheSettings.USE_QUERY_CACHE, true);
+            properties.put(CacheSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, MissingCacheStrategy.FAIL.getExternalRepresentation());
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maxSize, long ttlMs) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(Math.max(1, maxSize)));
+        if (ttlMs > 0) {
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.MILLISECONDS.toNanos(ttlMs)));
+        }
+        return configuration;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.subscription.config;
+
+import com.example.subscription.dto.CursorPage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.util.Collection;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times the public service methods behind the API. Per {@code class}/{@code method} it records
+ * {@code app.service} (latency histogram, tagged with outcome and exception),
+ * {@code app.service.result.size} for list and page results, and {@code app.service.errors}.
+ * Runs outside the transaction advice so the timings include the commit.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(public * com.example.subscription.service.SubscriptionService.*(..))"
+            + " || execution(public * com.example.subscription.service.SubscriberService.*(..))"
+            + " || execution(public * com.example.subscription.service.NotificationService.*(..))"
+            + " || execution(public * com.example.subscription.service.UserService.authenticate(..))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        Tags tags = Tags.of(
+                "class", joinPoint.getSignature().getDeclaringType().getSimpleName(),
+                "method", joinPoint.getSignature().getName());
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            Object result = joinPoint.proceed();
+            stop(sample, tags.and("outcome", "success", "exception", "none"));
+            recordSize(tags, result);
+            return result;
+        } catch (Throwable e) {
+            String exception = e.getClass().getSimpleName();
+            stop(sample, tags.and("outcome", "error", "exception", exception));
+            Counter.builder("app.service.errors")
+                    .description("Service calls that ended with an exception")
+                    .tags(tags.and("exception", exception))
+                    .register(meterRegistry)
+                    .increment();
+            throw e;
+        }
+    }
+
+    private void stop(Timer.Sample sample, Tags tags) {
+        sample.stop(Timer.builder("app.service")
+                .description("Service call latency")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    private void recordSize(Tags tags, Object result) {
+        int size;
+        if (result instanceof Collection<?> collection) {
+            size = collection.size();
+        } else if (result instanceof CursorPage<?> page) {
+            size = page.items().size();
+        } else {
+            return;
+        }
+        DistributionSummary.builder("app.service.result.size")
+                .description("Items returned by list and page calls")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(size);
+    }
+}
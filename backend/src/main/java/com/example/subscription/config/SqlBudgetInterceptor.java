@@ -0,0 +1,85 @@
+package com.example.subscription.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Tracks the SQL issued while a controller method runs and records it under the {@code handler}
+ * tag ({@code SubscriptionController.list}). Requests over the statement budget are logged, which
+ * is usually the first sign of an N+1.
+ */
+@Slf4j
+class SqlBudgetInterceptor implements AsyncHandlerInterceptor {
+
+    private final MeterRegistry meterRegistry;
+    private final int statementBudget;
+
+    SqlBudgetInterceptor(MeterRegistry meterRegistry, int statementBudget) {
+        this.meterRegistry = meterRegistry;
+        this.statementBudget = statementBudget;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod && request.getDispatcherType() == DispatcherType.REQUEST) {
+            SqlRequestStats.begin();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        record(request, handler);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        record(request, handler);
+    }
+
+    private void record(HttpServletRequest request, Object handler) {
+        SqlRequestStats stats = SqlRequestStats.end();
+        if (stats == null || !(handler instanceof HandlerMethod handlerMethod)) {
+            return;
+        }
+        String name = handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        Tags tags = Tags.of("handler", name);
+
+        DistributionSummary.builder("app.sql.statements")
+                .description("SQL statements executed per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.statements());
+        DistributionSummary.builder("app.sql.rows")
+                .description("Rows written per request, and read with app.sql-metrics.count-rows")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.rows());
+        Timer.builder("app.sql.time")
+                .description("JDBC execution time per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.nanos(), TimeUnit.NANOSECONDS);
+
+        if (statementBudget > 0 && stats.statements() > statementBudget) {
+            Counter.builder("app.sql.budget.exceeded")
+                    .description("Requests that issued more statements than the budget")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("{} {} ({}) issued {} SQL statements, budget is {} ({} rows, {} ms in JDBC).",
+                    request.getMethod(), request.getRequestURI(), name, stats.statements(), statementBudget,
+                    stats.rows(), TimeUnit.NANOSECONDS.toMillis(stats.nanos()));
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.subscription.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.sql.DataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Per-request SQL instrumentation: the datasource is wrapped in a proxy that counts statements,
+ * rows written and JDBC time, and {@link SqlBudgetInterceptor} turns the counts into metrics per
+ * controller method. {@code app.sql.statement-budget} of 0 disables the over-budget warning.
+ * {@code app.sql-metrics.count-rows} also counts rows read, which proxies every result set and
+ * intercepts each JDBC call, so it is off by default and meant for local profiling.
+ */
+@Configuration
+public class SqlMetricsConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry meterRegistry;
+    private final int statementBudget;
+
+    public SqlMetricsConfig(MeterRegistry meterRegistry, @Value("${app.sql.statement-budget:20}") int statementBudget) {
+        this.meterRegistry = meterRegistry;
+        this.statementBudget = statementBudget;
+    }
+
+    @Bean
+    static BeanPostProcessor sqlStatisticsDataSourceProxy(Environment environment) {
+        SqlStatisticsListener listener = new SqlStatisticsListener();
+        boolean countRowsRead = environment.getProperty("app.sql-metrics.count-rows", Boolean.class, false);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(beanName, dataSource).listener(listener);
+                if (countRowsRead) {
+                    builder.methodListener(listener).proxyResultSet();
+                }
+                return builder.build();
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new SqlBudgetInterceptor(meterRegistry, statementBudget));
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.subscription.config;
+
+/**
+ * SQL work done on the current thread while a request is handled. {@link SqlBudgetInterceptor}
+ * opens and closes the window, {@link SqlStatisticsListener} counts into it; work done outside a
+ * window, such as scheduled jobs or streaming exports on async threads, is not tracked.
+ */
+final class SqlRequestStats {
+
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+
+    private long statements;
+    private long rows;
+    private long nanos;
+    private long statementStartedAt;
+
+    private SqlRequestStats() {
+    }
+
+    static void begin() {
+        CURRENT.set(new SqlRequestStats());
+    }
+
+    static SqlRequestStats current() {
+        return CURRENT.get();
+    }
+
+    /** Closes the window of the current thread; null when none was open. */
+    static SqlRequestStats end() {
+        SqlRequestStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    void statementStarted() {
+        statementStartedAt = System.nanoTime();
+    }
+
+    void statementFinished(long rowsAffected) {
+        statements++;
+        rows += rowsAffected;
+        nanos += System.nanoTime() - statementStartedAt;
+    }
+
+    void rowRead() {
+        rows++;
+    }
+
+    long statements() {
+        return statements;
+    }
+
+    long rows() {
+        return rows;
+    }
+
+    long nanos() {
+        return nanos;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.subscription.config;
+
+import com.example.subscription.repository.SubscriberRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Fills {@code subscribers.search_text} for rows created before the column existed and, on
+ * PostgreSQL, backs it with a pg_trgm GIN index so substring searches avoid a full scan. Other
+ * databases (H2 in tests) run the same LIKE against the column without the index.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class SubscriberSearchIndexInitializer {
+
+    private final SubscriberRepository subscriberRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        Integer backfilled = transactionTemplate.execute(status -> subscriberRepository.backfillSearchText());
+        if (backfilled != null && backfilled > 0) {
+            log.info("Backfilled search text for {} subscribers.", backfilled);
+        }
+
+        if (isPostgres()) {
+            createTrigramIndex();
+        }
+    }
+
+    private boolean isPostgres() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        return "PostgreSQL".equalsIgnoreCase(product);
+    }
+
+    private void createTrigramIndex() {
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_subscribers_search_trgm ON subscribers USING gin (search_text gin_trgm_ops)");
+        } catch (DataAccessException e) {
+            log.warn("Could not create the pg_trgm search index, subscriber search will scan: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package com.example.subscription.config;
+
+import com.example.subscription.model.SearchText;
+import com.example.subscription.model.SubscriptionStatus;
+import jakarta.annotation.PostConstruct;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.random.RandomGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Fills an empty database with synthetic subscribers and their subscription histories when the
+ * {@value #PROFILE} profile is active. Each subscriber is generated from its own random stream
+ * derived from the seed and its index, so a seed, size and reference date always give the same
+ * rows whatever the number of threads. Chunks of subscribers are written with batched JDBC
+ * inserts, one transaction per chunk, in parallel.
+ */
+@Component
+@Profile(SyntheticDataGenerator.PROFILE)
+@DependsOn("dataInitializer")
+@Slf4j
+public class SyntheticDataGenerator {
+
+    public static final String PROFILE = "synthetic-data";
+
+    /** Subscription IDs are laid out in fixed slots per subscriber so they do not depend on threading. */
+    static final int MAX_HISTORY = 12;
+    private static final int ALLOCATION_SIZE = 50;
+
+    private static final String[] FIRST_NAMES = {
+        "Alice", "Bob", "Chloe", "David", "Emma", "Farid", "Ghita", "Hugo", "Ines", "Jules",
+        "Karim", "Lea", "Mehdi", "Nadia", "Omar", "Paul", "Rania", "Sofia", "Tom", "Yasmine",
+        "Adam", "Camille", "Elias", "Hana", "Lucas", "Manon", "Nour", "Rayan", "Salma", "Zoe"
+    };
+    private static final String[] LAST_NAMES = {
+        "Martin", "Dupont", "Bernard", "El Amrani", "Moreau", "Benali", "Laurent", "Haddad", "Simon", "Michel",
+        "Lefebvre", "Idrissi", "Garcia", "Rousseau", "Mercier", "Karimi", "Blanc", "Guerin", "Faure", "Chevalier",
+        "Ben Youssef", "Petit", "Roux", "Bouaziz", "Fontaine", "Lambert", "Chraibi", "Girard", "Andre", "Mansouri"
+    };
+
+    /** Picks a first name from the synthetic name table; the benchmark dataset draws from it too. */
+    public static String firstName(RandomGenerator random) {
+        return FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+    }
+
+    public static String lastName(RandomGenerator random) {
+        return LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+    }
+
+    /** Plan length in months and list price; amounts get a per-subscription discount. */
+    private enum Plan {
+        MONTHLY(1, "9.90"),
+        QUARTERLY(3, "27.90"),
+        YEARLY(12, "99.00");
+
+        private final int months;
+        private final BigDecimal price;
+
+        Plan(int months, String price) {
+            this.months = months;
+            this.price = new BigDecimal(price);
+        }
+    }
+
+    public record Result(int subscribers, int subscriptions, long firstSubscriberId, long lastSubscriberId) {
+    }
+
+    private record Rows(List<Object[]> subscribers, List<Object[]> subscriptions) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int subscribers;
+    private final long seed;
+    private final int years;
+    private final int threads;
+    private final int batchSize;
+    private final LocalDate referenceDate;
+
+    @Autowired
+    public SyntheticDataGenerator(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.synthetic-data.subscribers:10000}") int subscribers,
+            @Value("${app.synthetic-data.seed:42}") long seed,
+            @Value("${app.synthetic-data.years:5}") int years,
+            @Value("${app.synthetic-data.threads:4}") int threads,
+            @Value("${app.synthetic-data.batch-size:1000}") int batchSize,
+            @Value("${app.synthetic-data.reference-date:}") String referenceDate) {
+        this(jdbcTemplate, transactionManager, subscribers, seed, years, threads, batchSize,
+                referenceDate.isBlank() ? LocalDate.now() : LocalDate.parse(referenceDate));
+    }
+
+    SyntheticDataGenerator(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            int subscribers,
+            long seed,
+            int years,
+            int threads,
+            int batchSize,
+            LocalDate referenceDate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.subscribers = subscribers;
+        this.seed = seed;
+        this.years = years;
+        this.threads = Math.max(1, threads);
+        this.batchSize = Math.max(1, batchSize);
+        this.referenceDate = referenceDate;
+    }
+
+    @PostConstruct
+    public void generateIfEmpty() {
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM subscribers", Long.class);
+        if (existing != null && existing > 0) {
+            log.info("Synthetic data skipped: {} subscribers already present.", existing);
+            return;
+        }
+        generate();
+    }
+
+    /** Appends the configured number of subscribers after the current highest IDs. */
+    public Result generate() {
+        long started = System.nanoTime();
+        long subscriberBase = firstFreeId("subscribers", "subscribers_seq");
+        long subscriptionBase = firstFreeId("subscriptions", "subscriptions_seq");
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Integer>> chunks = new ArrayList<>();
+        try {
+            for (int from = 0; from < subscribers; from += batchSize) {
+                int start = from;
+                int end = Math.min(from + batchSize, subscribers);
+                chunks.add(executor.submit(() -> insertChunk(start, end, subscriberBase, subscriptionBase)));
+            }
+            int subscriptions = 0;
+            for (Future<Integer> chunk : chunks) {
+                subscriptions += chunk.get();
+            }
+            restartSequence("subscribers_seq", maxId("subscribers"));
+            restartSequence("subscriptions_seq", maxId("subscriptions"));
+
+            log.info("Generated {} subscribers and {} subscriptions (seed {}) in {} ms.",
+                    subscribers, subscriptions, seed, (System.nanoTime() - started) / 1_000_000);
+            return new Result(subscribers, subscriptions, subscriberBase, subscriberBase + subscribers - 1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Synthetic data generation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Synthetic data generation failed", e.getCause());
+        } finally {
+            chunks.forEach(chunk -> chunk.cancel(true));
+            executor.shutdownNow();
+        }
+    }
+
+    private int insertChunk(int from, int to, long subscriberBase, long subscriptionBase) {
+        Rows rows = new Rows(new ArrayList<>(to - from), new ArrayList<>((to - from) * 4));
+        for (int index = from; index < to; index++) {
+            addSubscriber(rows, index, subscriberBase, subscriptionBase);
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO subscribers (id, first_name, last_name, email, code, phone, created_at, is_deleted, deleted_at, search_text) "
+                            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                    rows.subscribers());
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO subscriptions (id, start_date, end_date, amount, status, is_deleted, deleted_at, subscriber_id) "
+                            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                    rows.subscriptions());
+        });
+        return rows.subscriptions().size();
+    }
+
+    private void addSubscriber(Rows rows, int index, long subscriberBase, long subscriptionBase) {
+        SplittableRandom random = new SplittableRandom(seed ^ (index * 0x9E3779B97F4A7C15L));
+        long subscriberId = subscriberBase + index;
+        String firstName = firstName(random);
+        String lastName = lastName(random);
+        String email = (firstName + "." + lastName).toLowerCase(Locale.ROOT).replace(' ', '-') + "." + index + "@example.org";
+        String code = String.format("SYN-%08d", index);
+        String phone = random.nextInt(10) < 6
+                ? String.format("+33 6 %02d %02d %02d %02d", random.nextInt(100), random.nextInt(100), random.nextInt(100), random.nextInt(100))
+                : null;
+
+        LocalDate start = referenceDate.minusDays(random.nextInt(Math.max(1, years * 365)));
+        LocalDate createdAt = start.minusDays(random.nextInt(30));
+        Plan plan = Plan.values()[random.nextInt(Plan.values().length)];
+        BigDecimal discount = BigDecimal.valueOf(random.nextInt(4) * 5L, 2);
+        LocalDate lastEnd = start;
+        int firstSubscriptionRow = rows.subscriptions().size();
+        for (int slot = 0; slot < MAX_HISTORY && !start.isAfter(referenceDate); slot++) {
+            LocalDate end = start.plusMonths(plan.months).minusDays(1);
+            BigDecimal amount = plan.price.subtract(plan.price.multiply(discount)).setScale(2, RoundingMode.HALF_UP);
+            boolean deleted = random.nextInt(100) == 0;
+            rows.subscriptions().add(new Object[] {
+                subscriptionBase + (long) index * MAX_HISTORY + slot,
+                Date.valueOf(start),
+                Date.valueOf(end),
+                amount,
+                SubscriptionStatus.of(end, referenceDate).name(),
+                deleted,
+                deleted ? Timestamp.valueOf(end.atStartOfDay()) : null,
+                subscriberId
+            });
+            lastEnd = end;
+
+            if (random.nextInt(100) < 20) {
+                break;
+            }
+            if (random.nextInt(100) < 15) {
+                plan = Plan.values()[random.nextInt(Plan.values().length)];
+            }
+            start = end.plusDays(random.nextInt(100) < 70 ? 1 : 1 + random.nextInt(60));
+        }
+
+        boolean deleted = random.nextInt(100) < 2;
+        Timestamp deletedAt = deleted ? Timestamp.valueOf(lastEnd.atStartOfDay()) : null;
+        if (deleted) {
+            // as SubscriberService.delete does, the subscriber's live subscriptions go with it
+            for (Object[] subscription : rows.subscriptions().subList(firstSubscriptionRow, rows.subscriptions().size())) {
+                if (!Boolean.TRUE.equals(subscription[5])) {
+                    subscription[5] = true;
+                    subscription[6] = deletedAt;
+                }
+            }
+        }
+        rows.subscribers().add(new Object[] {
+            subscriberId,
+            firstName,
+            lastName,
+            email,
+            code,
+            phone,
+            Date.valueOf(createdAt),
+            deleted,
+            deletedAt,
+            SearchText.of(firstName, lastName, email, code)
+        });
+    }
+
+    /**
+     * First ID above both the table's rows and every block the sequence has handed out, which
+     * running pooled optimizers may still be drawing from.
+     */
+    private long firstFreeId(String table, String sequence) {
+        Long reserved = jdbcTemplate.queryForObject("SELECT nextval('" + sequence + "')", Long.class);
+        return Math.max(maxId(table), reserved == null ? 0 : reserved) + 1;
+    }
+
+    private long maxId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        return max == null ? 0 : max;
+    }
+
+    /** Positions a pooled sequence so its next block starts past {@code maxId}, as IdSequenceMigration does. */
+    private void restartSequence(String sequence, long maxId) {
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (maxId + ALLOCATION_SIZE));
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.subscription.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PostConstruct;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Guards the {@value #PROFILE} profile. That profile sets {@code spring.threads.virtual.enabled},
+ * which makes Tomcat run every request on its own virtual thread, and sizes the Hikari pool for it;
+ * the pool, not the request thread count, then bounds how much work reaches the database. Spring
+ * Boot silently ignores the property before Java 21, so startup fails here instead of running in
+ * platform-thread mode under a virtual-thread configuration.
+ */
+@Component
+@Profile(VirtualThreadsMode.PROFILE)
+@Slf4j
+public class VirtualThreadsMode {
+
+    public static final String PROFILE = "virtual-threads";
+    static final int MINIMUM_JAVA_VERSION = 21;
+
+    private final ObjectProvider<DataSource> dataSource;
+
+    public VirtualThreadsMode(ObjectProvider<DataSource> dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @PostConstruct
+    public void check() {
+        int feature = Runtime.version().feature();
+        if (feature < MINIMUM_JAVA_VERSION) {
+            throw new IllegalStateException("The " + PROFILE + " profile needs Java " + MINIMUM_JAVA_VERSION
+                    + " or later, this JVM is Java " + feature + "; start without the profile to use platform threads");
+        }
+        DataSource resolved = dataSource.getIfAvailable();
+        HikariDataSource hikari = resolved == null ? null : unwrap(resolved);
+        log.info("Serving requests on virtual threads; database pool size {}.",
+                hikari == null ? "unknown" : hikari.getMaximumPoolSize());
+    }
+
+    private static HikariDataSource unwrap(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.subscription.controller;
+
+import com.example.subscription.model.MonthlyRollup;
+import com.example.subscription.service.MonthlyRollupService;
+import java.time.YearMonth;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+@CrossOrigin
+public class AnalyticsController {
+
+    private final MonthlyRollupService monthlyRollupService;
+
+    @GetMapping("/monthly")
+    public ResponseEntity<List<MonthlyRollup>> monthly(
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to) {
+        YearMonth end = to != null ? to : YearMonth.now();
+        YearMonth start = from != null ? from : end.minusMonths(11);
+        return ResponseEntity.ok(monthlyRollupService.monthly(start, end));
+    }
+
+    @PostMapping("/monthly/rebuild")
+    public ResponseEntity<Integer> rebuild(@RequestHeader("X-Admin-Pin") String adminPin) {
+        return ResponseEntity.ok(monthlyRollupService.rebuild(adminPin));
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.subscription.controller;
+
+import com.example.subscription.service.ServiceBusyException;
+import com.example.subscription.service.TooManyAttemptsException;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Maps the exceptions services throw to HTTP statuses: {@link IllegalArgumentException} for a
+ * request that cannot be served as asked, and the load-shedding exceptions. The body is Spring
+ * Boot's usual error document, as for any other error.
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public void badRequest(IllegalArgumentException e, HttpServletResponse response) throws IOException {
+        response.sendError(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+    }
+
+    @ExceptionHandler(TooManyAttemptsException.class)
+    public void tooManyAttempts(TooManyAttemptsException e, HttpServletResponse response) throws IOException {
+        response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), e.getMessage());
+    }
+
+    @ExceptionHandler(ServiceBusyException.class)
+    public void busy(ServiceBusyException e, HttpServletResponse response) throws IOException {
+        response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), e.getMessage());
+    }
+}
@@ -3,6 +3,7 @@ package com.example.subscription.controller;
 import com.example.subscription.dto.AuthRequest;
 import com.example.subscription.dto.AuthResponse;
 import com.example.subscription.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -18,8 +19,12 @@ public class AuthController {
 
     private final UserService userService;
 
+    /**
+     * The remote address is the client's as reported in {@code X-Forwarded-For} by a trusted proxy
+     * ({@code server.tomcat.remoteip.internal-proxies}), otherwise the peer's own address.
+     */
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody AuthRequest request) {
-        return ResponseEntity.ok(userService.authenticate(request));
+    public ResponseEntity<AuthResponse> login(@Valid @RequestBody AuthRequest request, HttpServletRequest httpRequest) {
+        return ResponseEntity.ok(userService.authenticate(request, httpRequest.getRemoteAddr()));
     }
 }
@@ -0,0 +1,32 @@
+package com.example.subscription.controller;
+
+import com.example.subscription.dto.CacheStats;
+import com.example.subscription.service.EntityCacheStats;
+import com.example.subscription.service.NotificationService;
+import com.example.subscription.service.UserService;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/caches")
+@RequiredArgsConstructor
+@CrossOrigin
+public class CacheController {
+
+    private final UserService userService;
+    private final NotificationService notificationService;
+    private final EntityCacheStats entityCacheStats;
+
+    @GetMapping
+    public ResponseEntity<List<CacheStats>> caches() {
+        List<CacheStats> caches = new ArrayList<>(List.of(userService.userDetailsCacheStats(), notificationService.snapshotStats()));
+        caches.addAll(entityCacheStats.stats());
+        return ResponseEntity.ok(caches);
+    }
+}
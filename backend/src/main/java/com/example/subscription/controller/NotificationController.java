@@ -2,16 +2,19 @@ package com.example.subscription.controller;
 
 import com.example.subscription.dto.NotificationResponse;
 import com.example.subscription.service.NotificationService;
+import com.example.subscription.service.NotificationStream;
 import java.time.LocalDate;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/notifications")
@@ -20,6 +23,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class NotificationController {
 
     private final NotificationService notificationService;
+    private final NotificationStream notificationStream;
 
     @GetMapping("/daily")
     public ResponseEntity<List<NotificationResponse>> daily(
@@ -27,4 +31,9 @@ public class NotificationController {
         LocalDate referenceDate = date != null ? date : LocalDate.now();
         return ResponseEntity.ok(notificationService.daily(referenceDate));
     }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream() {
+        return notificationStream.open();
+    }
 }
@@ -0,0 +1,25 @@
+package com.example.subscription.controller;
+
+import com.example.subscription.dto.DashboardStats;
+import com.example.subscription.service.StatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/stats")
+@RequiredArgsConstructor
+@CrossOrigin
+public class StatsController {
+
+    private final StatsService statsService;
+
+    @GetMapping
+    public ResponseEntity<DashboardStats> dashboard(@RequestParam(defaultValue = "7") int expiringWithinDays) {
+        return ResponseEntity.ok(statsService.dashboard(expiringWithinDays));
+    }
+}
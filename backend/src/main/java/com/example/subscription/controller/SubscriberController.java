@@ -1,11 +1,18 @@
 package com.example.subscription.controller;
 
+import com.example.subscription.dto.BulkOperationResult;
+import com.example.subscription.dto.SearchIndexStats;
+import com.example.subscription.dto.SubscriberImportResult;
+import com.example.subscription.dto.SubscriberIdsRequest;
 import com.example.subscription.dto.SubscriberRequest;
 import com.example.subscription.model.Subscriber;
+import com.example.subscription.service.SubscriberImportService;
 import com.example.subscription.service.SubscriberService;
 import jakarta.validation.Valid;
+import java.io.InputStream;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -26,6 +33,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class SubscriberController {
 
     private final SubscriberService subscriberService;
+    private final SubscriberImportService subscriberImportService;
 
     @PostMapping
     public ResponseEntity<Subscriber> create(@Valid @RequestBody SubscriberRequest request) {
@@ -49,8 +57,35 @@ public class SubscriberController {
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/bulk-delete")
+    public ResponseEntity<BulkOperationResult> deleteAll(@Valid @RequestBody SubscriberIdsRequest request) {
+        return ResponseEntity.ok(subscriberService.deleteAll(request.ids()));
+    }
+
+    @PostMapping("/bulk-purge")
+    public ResponseEntity<BulkOperationResult> purgeAll(
+            @Valid @RequestBody SubscriberIdsRequest request,
+            @RequestHeader("X-Admin-Pin") String adminPin) {
+        return ResponseEntity.ok(subscriberService.purgeAll(request.ids(), adminPin));
+    }
+
     @GetMapping
     public ResponseEntity<List<Subscriber>> list(@RequestParam(required = false) String search) {
         return ResponseEntity.ok(subscriberService.list(search));
     }
+
+    @GetMapping("/search-index")
+    public ResponseEntity<SearchIndexStats> searchIndexStats() {
+        return ResponseEntity.ok(subscriberService.searchIndexStats());
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<SubscriberImportResult> importCsv(InputStream body) {
+        return ResponseEntity.ok(subscriberImportService.importCsv(body));
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<SubscriberImportResult> importJson(InputStream body) {
+        return ResponseEntity.ok(subscriberImportService.importJson(body));
+    }
 }
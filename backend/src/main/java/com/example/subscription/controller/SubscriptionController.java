@@ -1,8 +1,11 @@
 package com.example.subscription.controller;
 
+import com.example.subscription.dto.CursorPage;
 import com.example.subscription.dto.SubscriptionRequest;
+import com.example.subscription.dto.SubscriptionView;
 import com.example.subscription.model.Subscription;
 import com.example.subscription.model.SubscriptionStatus;
+import com.example.subscription.service.SubscriptionExportService;
 import com.example.subscription.service.SubscriptionService;
 import jakarta.validation.Valid;
 import java.math.BigDecimal;
@@ -10,6 +13,8 @@ import java.time.LocalDate;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -22,6 +27,7 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/subscriptions")
@@ -30,6 +36,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class SubscriptionController {
 
     private final SubscriptionService subscriptionService;
+    private final SubscriptionExportService subscriptionExportService;
 
     @PostMapping
     public ResponseEntity<Subscription> create(@Valid @RequestBody SubscriptionRequest request) {
@@ -54,7 +61,7 @@ public class SubscriptionController {
     }
 
     @GetMapping
-    public ResponseEntity<List<Subscription>> list(
+    public ResponseEntity<List<SubscriptionView>> list(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
             @RequestParam(required = false) SubscriptionStatus status,
@@ -63,8 +70,20 @@ public class SubscriptionController {
         return ResponseEntity.ok(subscriptionService.listFiltered(startDate, endDate, status, subscriberId, search));
     }
 
+    @GetMapping(params = "limit")
+    public ResponseEntity<CursorPage<SubscriptionView>> listPage(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) SubscriptionStatus status,
+            @RequestParam(required = false) Long subscriberId,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String cursor,
+            @RequestParam int limit) {
+        return ResponseEntity.ok(subscriptionService.listPage(startDate, endDate, status, subscriberId, search, cursor, limit));
+    }
+
     @GetMapping("/history")
-    public ResponseEntity<List<Subscription>> history(
+    public ResponseEntity<List<SubscriptionView>> history(
             @RequestParam(required = false) Integer year,
             @RequestParam(required = false) Integer month,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
@@ -74,4 +93,37 @@ public class SubscriptionController {
             @RequestParam(required = false) String deletedTarget) {
         return ResponseEntity.ok(subscriptionService.history(year, month, date, search, status, amount, deletedTarget));
     }
+
+    @GetMapping(value = "/history", params = "limit")
+    public ResponseEntity<CursorPage<SubscriptionView>> historyPage(
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) Integer month,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) SubscriptionStatus status,
+            @RequestParam(required = false) BigDecimal amount,
+            @RequestParam(required = false) String deletedTarget,
+            @RequestParam(required = false) String cursor,
+            @RequestParam int limit) {
+        return ResponseEntity.ok(subscriptionService.historyPage(year, month, date, search, status, amount, deletedTarget, cursor, limit));
+    }
+
+    @GetMapping("/history/export")
+    public ResponseEntity<StreamingResponseBody> exportHistory(
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) Integer month,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) SubscriptionStatus status,
+            @RequestParam(required = false) BigDecimal amount,
+            @RequestParam(required = false) String deletedTarget,
+            @RequestParam(defaultValue = "csv") String format) {
+        SubscriptionExportService.Format exportFormat = SubscriptionExportService.Format.parse(format);
+        StreamingResponseBody body = out -> subscriptionExportService.exportHistory(
+                year, month, date, search, status, amount, deletedTarget, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"subscription-history." + exportFormat.extension() + "\"")
+                .body(body);
+    }
 }
@@ -0,0 +1,7 @@
+package com.example.subscription.dto;
+
+import java.util.List;
+
+/** IDs a bulk operation applied to, and requested IDs it skipped because they did not exist. */
+public record BulkOperationResult(List<Long> processed, List<Long> notFound) {
+}
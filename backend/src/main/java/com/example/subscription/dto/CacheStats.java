@@ -0,0 +1,9 @@
+package com.example.subscription.dto;
+
+public record CacheStats(String name, long size, long maxSize, long hits, long misses, double hitRate) {
+
+    public static CacheStats of(String name, long size, long maxSize, long hits, long misses) {
+        long lookups = hits + misses;
+        return new CacheStats(name, size, maxSize, hits, misses, lookups == 0 ? 0 : (double) hits / lookups);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.subscription.dto;
+
+import java.util.List;
+
+/**
+ * One keyset page; {@code nextCursor} is null on the last page and is passed back verbatim as
+ * {@code cursor} to read the following one.
+ */
+public record CursorPage<T>(List<T> items, String nextCursor, int limit) {
+}
@@ -0,0 +1,15 @@
+package com.example.subscription.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record DashboardStats(
+        long activeCount,
+        long renewalRequiredCount,
+        long expiredCount,
+        BigDecimal activeRevenue,
+        long subscriberCount,
+        long expiringSoonCount,
+        int expiringWithinDays,
+        LocalDate referenceDate) {
+}
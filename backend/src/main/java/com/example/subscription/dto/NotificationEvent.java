@@ -0,0 +1,15 @@
+package com.example.subscription.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Payload of the notification stream. A {@code snapshot} event carries the whole daily list; a
+ * {@code change} event carries the notifications to add or replace and the subscription IDs to drop.
+ * {@code daysUntilEnd} and {@code status} are relative to {@code referenceDate}.
+ */
+public record NotificationEvent(
+        LocalDate referenceDate,
+        List<NotificationResponse> notifications,
+        List<Long> removed) {
+}
@@ -0,0 +1,11 @@
+package com.example.subscription.dto;
+
+public record SearchIndexStats(
+        boolean ready,
+        int subscribers,
+        int trigrams,
+        long postings,
+        long estimatedBytes,
+        long hits,
+        long misses) {
+}
@@ -0,0 +1,9 @@
+package com.example.subscription.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public record SubscriberIdsRequest(@NotEmpty @Size(max = 1000) List<@NotNull Long> ids) {
+}
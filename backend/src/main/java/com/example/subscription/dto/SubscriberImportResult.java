@@ -0,0 +1,13 @@
+package com.example.subscription.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk subscriber import. {@code errors} lists rejected rows by their 1-based position
+ * in the input (header excluded) and is capped, so {@code rejected} can exceed its size.
+ */
+public record SubscriberImportResult(long received, long imported, long rejected, List<RowError> errors) {
+
+    public record RowError(long row, String email, String message) {
+    }
+}
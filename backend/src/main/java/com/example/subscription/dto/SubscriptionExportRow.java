@@ -0,0 +1,55 @@
+package com.example.subscription.dto;
+
+import com.example.subscription.model.Subscriber;
+import com.example.subscription.model.Subscription;
+import com.example.subscription.model.SubscriptionStatus;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/** Flat export representation of a subscription and its subscriber. */
+public record SubscriptionExportRow(
+        Long id,
+        LocalDate startDate,
+        LocalDate endDate,
+        BigDecimal amount,
+        SubscriptionStatus status,
+        boolean deleted,
+        LocalDateTime deletedAt,
+        Long subscriberId,
+        String subscriberCode,
+        String subscriberFirstName,
+        String subscriberLastName,
+        String subscriberEmail,
+        boolean subscriberDeleted) {
+
+    public static final String[] CSV_HEADER = {
+        "id", "startDate", "endDate", "amount", "status", "deleted", "deletedAt",
+        "subscriberId", "subscriberCode", "subscriberFirstName", "subscriberLastName", "subscriberEmail", "subscriberDeleted"
+    };
+
+    public static SubscriptionExportRow of(Subscription subscription) {
+        Subscriber subscriber = subscription.getSubscriber();
+        return new SubscriptionExportRow(
+                subscription.getId(),
+                subscription.getStartDate(),
+                subscription.getEndDate(),
+                subscription.getAmount(),
+                subscription.getStatus(),
+                Boolean.TRUE.equals(subscription.getDeleted()),
+                subscription.getDeletedAt(),
+                subscriber != null ? subscriber.getId() : null,
+                subscriber != null ? subscriber.getCode() : null,
+                subscriber != null ? subscriber.getFirstName() : null,
+                subscriber != null ? subscriber.getLastName() : null,
+                subscriber != null ? subscriber.getEmail() : null,
+                subscriber != null && Boolean.TRUE.equals(subscriber.getDeleted()));
+    }
+
+    public Object[] csvValues() {
+        return new Object[] {
+            id, startDate, endDate, amount, status, deleted, deletedAt,
+            subscriberId, subscriberCode, subscriberFirstName, subscriberLastName, subscriberEmail, subscriberDeleted
+        };
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.subscription.dto;
+
+import com.example.subscription.model.SubscriptionStatus;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Read model of a subscription for list and history responses, selected column by column in one
+ * join query. Serializes like the entity did, with the subscriber reduced to what the views show.
+ */
+public record SubscriptionView(
+        Long id,
+        LocalDate startDate,
+        LocalDate endDate,
+        BigDecimal amount,
+        SubscriptionStatus status,
+        boolean deleted,
+        LocalDateTime deletedAt,
+        SubscriberSummary subscriber) {
+
+    /** Flat form used by query constructor expressions; a null subscriber id means no subscriber. */
+    public SubscriptionView(
+            Long id,
+            LocalDate startDate,
+            LocalDate endDate,
+            BigDecimal amount,
+            SubscriptionStatus status,
+            Boolean deleted,
+            LocalDateTime deletedAt,
+            Long subscriberId,
+            String subscriberCode,
+            String subscriberFirstName,
+            String subscriberLastName,
+            String subscriberEmail,
+            Boolean subscriberDeleted) {
+        this(id, startDate, endDate, amount, status, Boolean.TRUE.equals(deleted), deletedAt,
+                subscriberId == null
+                        ? null
+                        : new SubscriberSummary(subscriberId, subscriberCode, subscriberFirstName, subscriberLastName,
+                                subscriberEmail, Boolean.TRUE.equals(subscriberDeleted)));
+    }
+
+    public record SubscriberSummary(Long id, String code, String firstName, String lastName, String email, boolean deleted) {
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.subscription.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Per-month totals over live subscriptions: revenue and count of subscriptions starting in the
+ * month, subscriptions ending in it, and subscribers whose last subscription ends in it (churn).
+ */
+@Entity
+@Table(name = "monthly_rollups")
+@Getter
+@Setter
+@NoArgsConstructor
+public class MonthlyRollup {
+    /** year * 100 + month, e.g. 202503. */
+    @Id
+    private Integer period;
+
+    @Column(name = "period_year", nullable = false)
+    private Integer year;
+
+    @Column(name = "period_month", nullable = false)
+    private Integer month;
+
+    @Column(nullable = false)
+    private BigDecimal revenue = BigDecimal.ZERO;
+
+    @Column(nullable = false)
+    private Long newSubscriptions = 0L;
+
+    @Column(nullable = false)
+    private Long expirations = 0L;
+
+    @Column(nullable = false)
+    private Long churnedSubscribers = 0L;
+
+    public MonthlyRollup(YearMonth yearMonth) {
+        this.period = periodOf(yearMonth);
+        this.year = yearMonth.getYear();
+        this.month = yearMonth.getMonthValue();
+    }
+
+    public static int periodOf(YearMonth yearMonth) {
+        return yearMonth.getYear() * 100 + yearMonth.getMonthValue();
+    }
+}
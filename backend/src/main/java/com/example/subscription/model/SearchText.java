@@ -0,0 +1,32 @@
+package com.example.subscription.model;
+
+import java.util.Locale;
+
+/**
+ * Normalization shared by the persisted subscriber search column and the LIKE patterns matched
+ * against it, so both sides are lower-cased the same way.
+ */
+public final class SearchText {
+
+    public static final char LIKE_ESCAPE = '\\';
+
+    private SearchText() {
+    }
+
+    public static String of(String firstName, String lastName, String email, String code) {
+        return (firstName + " " + lastName + " " + email + " " + (code == null ? "" : code)).toLowerCase(Locale.ROOT);
+    }
+
+    /** Substring pattern for {@code query}, with LIKE wildcards escaped using {@link #LIKE_ESCAPE}. */
+    public static String containsPattern(String query) {
+        String normalized = query.toLowerCase(Locale.ROOT);
+        StringBuilder pattern = new StringBuilder(normalized.length() + 2).append('%');
+        for (char c : normalized.toCharArray()) {
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                pattern.append(LIKE_ESCAPE);
+            }
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
+}
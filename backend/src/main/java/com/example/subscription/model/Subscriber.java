@@ -2,6 +2,7 @@ package com.example.subscription.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -10,6 +11,9 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -18,15 +22,25 @@ import java.util.List;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "subscribers")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Subscriber.CACHE_REGION)
 @Getter
 @Setter
 @NoArgsConstructor
 public class Subscriber {
+    /** Second-level cache region of the entity; bulk JPQL writes on the table clear it whole. */
+    public static final String CACHE_REGION = "subscribers";
+    /** Query cache region of the cacheable {@code SubscriberRepository} queries. */
+    public static final String QUERY_CACHE_REGION = "subscriber-queries";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "subscribers_seq")
+    @SequenceGenerator(name = "subscribers_seq", sequenceName = "subscribers_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -50,8 +64,18 @@ public class Subscriber {
 
     private LocalDateTime deletedAt;
 
+    @JsonIgnore
+    @Column(name = "search_text", length = 1024)
+    private String searchText;
+
     @OneToMany(mappedBy = "subscriber", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @JsonIgnoreProperties("subscriber")
     @JsonIgnore
     private List<Subscription> subscriptions = new ArrayList<>();
+
+    @PrePersist
+    @PreUpdate
+    void refreshSearchText() {
+        searchText = SearchText.of(firstName, lastName, email, code);
+    }
 }
@@ -1,7 +1,24 @@
 package com.example.subscription.model;
 
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
 public enum SubscriptionStatus {
     ACTIVE,
     RENEWAL_REQUIRED,
-    EXPIRED
+    EXPIRED;
+
+    /** A subscription ending within this many days of the reference date needs renewal. */
+    public static final long RENEWAL_REQUIRED_THRESHOLD_DAYS = 7;
+
+    public static SubscriptionStatus of(LocalDate endDate, LocalDate referenceDate) {
+        return ofDaysUntilEnd(ChronoUnit.DAYS.between(referenceDate, endDate));
+    }
+
+    public static SubscriptionStatus ofDaysUntilEnd(long daysUntilEnd) {
+        if (daysUntilEnd < 0) {
+            return EXPIRED;
+        }
+        return daysUntilEnd <= RENEWAL_REQUIRED_THRESHOLD_DAYS ? RENEWAL_REQUIRED : ACTIVE;
+    }
 }
@@ -0,0 +1,33 @@
+package com.example.subscription.repository;
+
+import com.example.subscription.model.MonthlyRollup;
+import java.math.BigDecimal;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface MonthlyRollupRepository extends JpaRepository<MonthlyRollup, Integer> {
+    List<MonthlyRollup> findByPeriodBetweenOrderByPeriod(Integer from, Integer to);
+
+    /** Creates the month's row unless another transaction already did; never fails on the key. */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO monthly_rollups (period, period_year, period_month, revenue, new_subscriptions, expirations, churned_subscribers) "
+            + "VALUES (:period, :year, :month, 0, 0, 0, 0) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertEmpty(@Param("period") Integer period, @Param("year") Integer year, @Param("month") Integer month);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM MonthlyRollup r")
+    int deleteAllRows();
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE MonthlyRollup r SET r.revenue = r.revenue + :revenue, r.newSubscriptions = r.newSubscriptions + :newSubscriptions, "
+            + "r.expirations = r.expirations + :expirations, r.churnedSubscribers = r.churnedSubscribers + :churned WHERE r.period = :period")
+    int increment(
+            @Param("period") Integer period,
+            @Param("revenue") BigDecimal revenue,
+            @Param("newSubscriptions") long newSubscriptions,
+            @Param("expirations") long expirations,
+            @Param("churned") long churned);
+}
@@ -1,9 +1,15 @@
 package com.example.subscription.repository;
 
 import com.example.subscription.model.Subscriber;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import java.util.List;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 public interface SubscriberRepository extends JpaRepository<Subscriber, Long> {
@@ -11,10 +17,62 @@ public interface SubscriberRepository extends JpaRepository<Subscriber, Long> {
     boolean existsByEmailAndIdNotAndDeletedFalse(String email, Long id);
     boolean existsByCode(String code);
 
+    @Query("SELECT s.code FROM Subscriber s WHERE s.code IN :codes")
+    List<String> findExistingCodes(@Param("codes") java.util.Collection<String> codes);
+
+    @Query("SELECT s.email FROM Subscriber s WHERE s.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") java.util.Collection<String> emails);
+
+    List<Subscriber> findAllByEmailIn(java.util.Collection<String> emails);
+
+    // not query-cached: a hit only holds IDs, so every row evicted from the bounded entity region
+    // would be loaded with its own SELECT instead of this one
     List<Subscriber> findAllByDeletedFalse();
 
+    long countByDeletedFalse();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Subscriber.QUERY_CACHE_REGION)
+    })
     java.util.Optional<Subscriber> findByIdAndDeletedFalse(Long id);
 
-    @Query("SELECT s FROM Subscriber s WHERE s.deleted = false AND LOWER(CONCAT(s.firstName, ' ', s.lastName, ' ', s.email, ' ', COALESCE(s.code, ''))) LIKE LOWER(CONCAT('%', :search, '%'))")
-    List<Subscriber> search(@Param("search") String search);
+    @Query("SELECT s FROM Subscriber s WHERE s.deleted = false AND s.searchText LIKE :pattern ESCAPE '\\'")
+    List<Subscriber> search(@Param("pattern") String pattern);
+
+    @Query("SELECT s.id AS id, s.searchText AS searchText, s.deleted AS deleted FROM Subscriber s")
+    List<SearchRow> findAllSearchRows();
+
+    List<Subscriber> findAllByIdInAndDeletedFalse(java.util.Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Subscriber s SET s.searchText = LOWER(CONCAT(s.firstName, ' ', s.lastName, ' ', s.email, ' ', COALESCE(s.code, ''))) WHERE s.searchText IS NULL")
+    int backfillSearchText();
+
+    @Query("SELECT s.id FROM Subscriber s WHERE s.id IN :ids AND s.deleted = false")
+    List<Long> findLiveIds(@Param("ids") java.util.Collection<Long> ids);
+
+    @Query("SELECT s.id FROM Subscriber s WHERE s.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") java.util.Collection<Long> ids);
+
+    /** Row-locks the subscribers among {@code ids} until the transaction ends, in ID order so writers cannot deadlock. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s.id FROM Subscriber s WHERE s.id IN :ids ORDER BY s.id")
+    List<Long> lockByIds(@Param("ids") java.util.Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Subscriber s SET s.deleted = true, s.deletedAt = :deletedAt WHERE s.id IN :ids AND s.deleted = false")
+    int softDeleteByIds(@Param("ids") java.util.Collection<Long> ids, @Param("deletedAt") java.time.LocalDateTime deletedAt);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Subscriber s WHERE s.id IN :ids")
+    int deleteByIds(@Param("ids") java.util.Collection<Long> ids);
+
+    interface SearchRow {
+        Long getId();
+
+        String getSearchText();
+
+        Boolean getDeleted();
+    }
 }
@@ -2,16 +2,27 @@ package com.example.subscription.repository;
 
 import com.example.subscription.model.Subscription;
 import com.example.subscription.model.SubscriptionStatus;
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-public interface SubscriptionRepository extends JpaRepository<Subscription, Long> {
+public interface SubscriptionRepository
+        extends JpaRepository<Subscription, Long>, JpaSpecificationExecutor<Subscription>, SubscriptionViewRepository {
     @Query("SELECT s FROM Subscription s WHERE s.deleted = false AND s.subscriber.deleted = false AND s.endDate BETWEEN :startDate AND :endDate")
     List<Subscription> findEndingBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 
+    @Query("SELECT s.id AS subscriptionId, sub.id AS subscriberId, sub.firstName AS firstName, sub.lastName AS lastName, s.endDate AS endDate "
+            + "FROM Subscription s JOIN s.subscriber sub "
+            + "WHERE s.deleted = false AND sub.deleted = false AND s.endDate BETWEEN :startDate AND :endDate ORDER BY s.endDate, s.id")
+    List<EndingRow> findEndingRowsBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
     List<Subscription> findBySubscriberIdAndDeletedFalse(Long subscriberId);
 
     List<Subscription> findBySubscriberId(Long subscriberId);
@@ -21,4 +32,102 @@ public interface SubscriptionRepository extends JpaRepository<Subscription, Long
     List<Subscription> findAllByDeletedFalseAndSubscriberDeletedFalse();
 
     java.util.Optional<Subscription> findByIdAndDeletedFalse(Long id);
+
+    @Query("SELECT s.status AS status, COUNT(s) AS count, COALESCE(SUM(s.amount), 0) AS amount FROM Subscription s "
+            + "WHERE s.deleted = false AND s.subscriber.deleted = false GROUP BY s.status")
+    List<StatusTotals> summarizeByStatus();
+
+    @Query("SELECT COUNT(s) FROM Subscription s WHERE s.deleted = false AND s.subscriber.deleted = false AND s.endDate BETWEEN :startDate AND :endDate")
+    long countEndingBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT s.subscriber.id AS subscriberId, MAX(s.endDate) AS lastEndDate FROM Subscription s "
+            + "WHERE s.subscriber.id IN :subscriberIds AND s.deleted = false AND s.subscriber.deleted = false GROUP BY s.subscriber.id")
+    List<LastEndDate> findLastLiveEndDates(@Param("subscriberIds") Collection<Long> subscriberIds);
+
+    @Query("SELECT year(s.startDate) AS startYear, month(s.startDate) AS startMonth, year(s.endDate) AS endYear, month(s.endDate) AS endMonth, "
+            + "COUNT(s) AS count, SUM(s.amount) AS amount FROM Subscription s "
+            + "WHERE s.subscriber.id IN :subscriberIds AND s.deleted = false AND s.subscriber.deleted = false "
+            + "GROUP BY year(s.startDate), month(s.startDate), year(s.endDate), month(s.endDate)")
+    List<ContributionTotals> liveContributionsOf(@Param("subscriberIds") Collection<Long> subscriberIds);
+
+    @Query("SELECT year(s.startDate) AS year, month(s.startDate) AS month, COUNT(s) AS count, SUM(s.amount) AS amount FROM Subscription s "
+            + "WHERE s.deleted = false AND s.subscriber.deleted = false GROUP BY year(s.startDate), month(s.startDate)")
+    List<MonthTotals> totalsByStartMonth();
+
+    @Query("SELECT year(s.endDate) AS year, month(s.endDate) AS month, COUNT(s) AS count, SUM(s.amount) AS amount FROM Subscription s "
+            + "WHERE s.deleted = false AND s.subscriber.deleted = false GROUP BY year(s.endDate), month(s.endDate)")
+    List<MonthTotals> totalsByEndMonth();
+
+    @Query("SELECT MAX(s.endDate) FROM Subscription s WHERE s.deleted = false AND s.subscriber.deleted = false GROUP BY s.subscriber.id")
+    List<LocalDate> findLastLiveEndDatePerSubscriber();
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Subscription s SET s.status = :status WHERE s.endDate < :before AND s.status <> :status")
+    int updateStatusEndingBefore(@Param("status") SubscriptionStatus status, @Param("before") LocalDate before);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Subscription s SET s.status = :status WHERE s.endDate BETWEEN :from AND :to AND s.status <> :status")
+    int updateStatusEndingBetween(@Param("status") SubscriptionStatus status, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Subscription s SET s.status = :status WHERE s.endDate > :after AND s.status <> :status")
+    int updateStatusEndingAfter(@Param("status") SubscriptionStatus status, @Param("after") LocalDate after);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Subscription s SET s.deleted = true, s.deletedAt = :deletedAt WHERE s.subscriber.id IN :subscriberIds AND s.deleted = false")
+    int softDeleteBySubscriberIds(@Param("subscriberIds") Collection<Long> subscriberIds, @Param("deletedAt") LocalDateTime deletedAt);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Subscription s WHERE s.subscriber.id IN :subscriberIds")
+    int deleteBySubscriberIds(@Param("subscriberIds") Collection<Long> subscriberIds);
+
+    interface EndingRow {
+        Long getSubscriptionId();
+
+        Long getSubscriberId();
+
+        String getFirstName();
+
+        String getLastName();
+
+        LocalDate getEndDate();
+    }
+
+    interface StatusTotals {
+        SubscriptionStatus getStatus();
+
+        long getCount();
+
+        BigDecimal getAmount();
+    }
+
+    interface MonthTotals {
+        Integer getYear();
+
+        Integer getMonth();
+
+        long getCount();
+
+        BigDecimal getAmount();
+    }
+
+    interface LastEndDate {
+        Long getSubscriberId();
+
+        LocalDate getLastEndDate();
+    }
+
+    interface ContributionTotals {
+        Integer getStartYear();
+
+        Integer getStartMonth();
+
+        Integer getEndYear();
+
+        Integer getEndMonth();
+
+        long getCount();
+
+        BigDecimal getAmount();
+    }
 }
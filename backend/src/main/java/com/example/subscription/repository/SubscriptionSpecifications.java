@@ -0,0 +1,171 @@
+package com.example.subscription.repository;
+
+import com.example.subscription.model.SearchText;
+import com.example.subscription.model.Subscriber;
+import com.example.subscription.model.Subscription;
+import com.example.subscription.model.SubscriptionStatus;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.jpa.domain.Specification;
+
+public final class SubscriptionSpecifications {
+
+    private SubscriptionSpecifications() {
+    }
+
+    /**
+     * Builds the predicate set used by the subscription list: each non-null argument becomes a SQL
+     * predicate, so only matching rows are read.
+     */
+    public static Specification<Subscription> listFilter(
+            LocalDate startDate,
+            LocalDate endDate,
+            SubscriptionStatus status,
+            Long subscriberId,
+            String search) {
+        return (root, query, cb) -> {
+            From<Subscription, Subscriber> subscriber = subscriberJoin(root, query.getResultType(), JoinType.INNER);
+
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.isFalse(root.get("deleted")));
+            predicates.add(cb.isFalse(subscriber.get("deleted")));
+
+            if (startDate != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("startDate"), startDate));
+            }
+            if (endDate != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("endDate"), endDate));
+            }
+            if (status != null) {
+                predicates.add(cb.equal(root.get("status"), status));
+            }
+            if (subscriberId != null) {
+                predicates.add(cb.equal(subscriber.get("id"), subscriberId));
+            }
+            if (search != null && !search.isBlank()) {
+                predicates.add(subscriberMatches(cb, subscriber, search));
+            }
+
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Predicate set of the history view. The subscriber is left-joined because history may include
+     * subscriptions whose subscriber is gone; {@code deletedTarget} selects which soft-deleted rows to
+     * show (SUBSCRIPTION, SUBSCRIBER, ANY), anything else shows live rows only.
+     */
+    public static Specification<Subscription> historyFilter(
+            Integer year,
+            Integer month,
+            LocalDate exactDate,
+            String search,
+            SubscriptionStatus status,
+            BigDecimal amount,
+            String deletedTarget) {
+        return (root, query, cb) -> {
+            From<Subscription, Subscriber> subscriber = subscriberJoin(root, query.getResultType(), JoinType.LEFT);
+            Expression<LocalDate> startDate = root.get("startDate");
+
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(deletedTargetMatches(cb, root, subscriber, deletedTarget));
+
+            if (exactDate != null) {
+                predicates.add(cb.equal(startDate, exactDate));
+            } else if (year != null && month != null) {
+                LocalDate first = LocalDate.of(year, month, 1);
+                predicates.add(cb.between(startDate, first, first.withDayOfMonth(first.lengthOfMonth())));
+            } else if (year != null) {
+                predicates.add(cb.between(startDate, LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31)));
+            } else if (month != null) {
+                predicates.add(cb.equal(((HibernateCriteriaBuilder) cb).month(startDate), month));
+            }
+            if (search != null && !search.isBlank()) {
+                predicates.add(cb.or(cb.isNull(subscriber.get("id")), subscriberMatches(cb, subscriber, search)));
+            }
+            if (status != null) {
+                predicates.add(cb.equal(root.get("status"), status));
+            }
+            if (amount != null) {
+                predicates.add(cb.equal(root.get("amount"), amount));
+            }
+
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Restricts rows to the given subscribers, used instead of the search predicate when the
+     * in-memory search index already resolved the matching IDs. History keeps rows without a
+     * subscriber, as its search predicate does.
+     */
+    public static Specification<Subscription> subscriberIn(Collection<Long> subscriberIds, boolean keepOrphans) {
+        return (root, query, cb) -> {
+            Predicate matches = subscriberIds.isEmpty()
+                    ? cb.disjunction()
+                    : root.get("subscriber").get("id").in(subscriberIds);
+            return keepOrphans ? cb.or(cb.isNull(root.get("subscriber")), matches) : matches;
+        };
+    }
+
+    /** Keyset continuation for rows ordered by (endDate, id) ascending. */
+    public static Specification<Subscription> endDateAfter(LocalDate endDate, Long id) {
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.get("endDate"), endDate),
+                cb.and(cb.equal(root.get("endDate"), endDate), cb.greaterThan(root.get("id"), id)));
+    }
+
+    /** Keyset continuation for rows ordered by (startDate, id) descending. */
+    public static Specification<Subscription> startDateBefore(LocalDate startDate, Long id) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("startDate"), startDate),
+                cb.and(cb.equal(root.get("startDate"), startDate), cb.lessThan(root.get("id"), id)));
+    }
+
+    private static Predicate deletedTargetMatches(
+            CriteriaBuilder cb,
+            Root<Subscription> root,
+            From<Subscription, Subscriber> subscriber,
+            String deletedTarget) {
+        String value = deletedTarget == null ? "" : deletedTarget.trim().toUpperCase();
+        Predicate subscriptionDeleted = cb.isTrue(root.get("deleted"));
+        Predicate subscriberDeleted = cb.isTrue(subscriber.get("deleted"));
+
+        return switch (value) {
+            case "" -> cb.and(cb.isFalse(root.get("deleted")), cb.isFalse(subscriber.get("deleted")));
+            case "SUBSCRIPTION" -> subscriptionDeleted;
+            case "SUBSCRIBER" -> subscriberDeleted;
+            case "ANY" -> cb.or(subscriptionDeleted, subscriberDeleted);
+            default -> cb.and(
+                    cb.isFalse(root.get("deleted")),
+                    cb.or(cb.isNull(subscriber.get("id")), cb.isFalse(subscriber.get("deleted"))));
+        };
+    }
+
+    /**
+     * Fetch-joins the subscriber for entity queries so it is loaded in the same statement; count and
+     * projection queries get a plain join since they do not select the entity.
+     */
+    @SuppressWarnings("unchecked")
+    private static From<Subscription, Subscriber> subscriberJoin(Root<Subscription> root, Class<?> resultType, JoinType joinType) {
+        if (!Subscription.class.equals(resultType)) {
+            return root.join("subscriber", joinType);
+        }
+        return (Join<Subscription, Subscriber>) root.<Subscription, Subscriber>fetch("subscriber", joinType);
+    }
+
+    private static Predicate subscriberMatches(CriteriaBuilder cb, From<?, Subscriber> subscriber, String search) {
+        return cb.like(subscriber.get("searchText"), SearchText.containsPattern(search), SearchText.LIKE_ESCAPE);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.subscription.repository;
+
+import com.example.subscription.dto.SubscriptionView;
+import com.example.subscription.model.Subscription;
+import java.util.List;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface SubscriptionViewRepository {
+
+    /** Rows matching {@code spec} as {@link SubscriptionView}s in {@code sort} order; {@code limit} of 0 means all. */
+    List<SubscriptionView> findViews(Specification<Subscription> spec, Sort sort, int limit);
+}
@@ -0,0 +1,67 @@
+package com.example.subscription.repository;
+
+import com.example.subscription.dto.SubscriptionView;
+import com.example.subscription.model.Subscriber;
+import com.example.subscription.model.Subscription;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Root;
+import java.util.List;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+class SubscriptionViewRepositoryImpl implements SubscriptionViewRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<SubscriptionView> findViews(Specification<Subscription> spec, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<SubscriptionView> query = cb.createQuery(SubscriptionView.class);
+        Root<Subscription> root = query.from(Subscription.class);
+        query.where(spec.toPredicate(root, query, cb));
+        From<Subscription, Subscriber> subscriber = subscriberJoin(root);
+
+        query.select(cb.construct(
+                SubscriptionView.class,
+                root.get("id"),
+                root.get("startDate"),
+                root.get("endDate"),
+                root.get("amount"),
+                root.get("status"),
+                root.get("deleted"),
+                root.get("deletedAt"),
+                subscriber.get("id"),
+                subscriber.get("code"),
+                subscriber.get("firstName"),
+                subscriber.get("lastName"),
+                subscriber.get("email"),
+                subscriber.get("deleted")));
+        query.orderBy(sort.stream()
+                .map(order -> order.isAscending() ? cb.asc(root.get(order.getProperty())) : cb.desc(root.get(order.getProperty())))
+                .toArray(Order[]::new));
+
+        TypedQuery<SubscriptionView> typed = entityManager.createQuery(query);
+        if (limit > 0) {
+            typed.setMaxResults(limit);
+        }
+        return typed.getResultList();
+    }
+
+    /** Reuses the subscriber join the specification created, so filters and columns share one join. */
+    @SuppressWarnings("unchecked")
+    private static From<Subscription, Subscriber> subscriberJoin(Root<Subscription> root) {
+        return root.getJoins().stream()
+                .filter(join -> "subscriber".equals(join.getAttribute().getName()))
+                .map(join -> (From<Subscription, Subscriber>) join)
+                .findFirst()
+                .orElseGet(() -> root.join("subscriber", JoinType.LEFT));
+    }
+}
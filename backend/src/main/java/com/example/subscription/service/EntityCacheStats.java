@@ -0,0 +1,59 @@
+package com.example.subscription.service;
+
+import com.example.subscription.dto.CacheStats;
+import com.example.subscription.model.Subscriber;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hit and miss counts of the Hibernate second-level cache regions, taken from the session factory
+ * statistics ({@code hibernate.generate_statistics}), with the entry count and bound of the
+ * underlying Caffeine cache. Each region also gets an {@code app.cache.hit.ratio} gauge tagged
+ * with its name; Hibernate's own per-region request counters are published alongside.
+ */
+@Component
+public class EntityCacheStats {
+
+    private final Statistics statistics;
+    private final CacheManager cacheManager;
+
+    public EntityCacheStats(EntityManagerFactory entityManagerFactory, CacheManager hibernateCacheManager, MeterRegistry meterRegistry) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.cacheManager = hibernateCacheManager;
+        for (String region : List.of(Subscriber.CACHE_REGION, Subscriber.QUERY_CACHE_REGION)) {
+            Gauge.builder("app.cache.hit.ratio", () -> stats(region).hitRate())
+                    .tag("cache", region)
+                    .description("Share of lookups served from the cache since startup")
+                    .register(meterRegistry);
+        }
+    }
+
+    public List<CacheStats> stats() {
+        return List.of(stats(Subscriber.CACHE_REGION), stats(Subscriber.QUERY_CACHE_REGION));
+    }
+
+    private CacheStats stats(String region) {
+        CacheRegionStatistics counts = Subscriber.QUERY_CACHE_REGION.equals(region)
+                ? statistics.getQueryRegionStatistics(region)
+                : statistics.getDomainDataRegionStatistics(region);
+        long hits = counts == null ? 0 : counts.getHitCount();
+        long misses = counts == null ? 0 : counts.getMissCount();
+        Cache<Object, Object> cache = cacheManager.getCache(region);
+        if (cache == null || cache.isClosed()) {
+            return CacheStats.of(region, 0, 0, hits, misses);
+        }
+        long size = cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class).estimatedSize();
+        @SuppressWarnings("unchecked")
+        long maxSize = cache.getConfiguration(CaffeineConfiguration.class).getMaximumSize().orElse(0);
+        return CacheStats.of(region, size, maxSize, hits, misses);
+    }
+}
@@ -0,0 +1,334 @@
+package com.example.subscription.service;
+
+import com.example.subscription.model.Subscription;
+import com.example.subscription.model.SubscriptionStatus;
+import com.example.subscription.repository.SubscriptionRepository;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Live subscriptions ending within the daily notification window around today, bucketed by end
+ * day and ordered by ID within a day, so {@link NotificationService#daily} reads the window instead
+ * of range-scanning the table. Loaded at startup, kept current by {@link SubscriptionService} and
+ * {@link SubscriberService} after commit, and rolled over at midnight: past days are dropped and the
+ * day entering the window is loaded. Reference dates outside the loaded window go to the database.
+ * Every change to the window is published as a {@link WindowChange} event.
+ */
+@Service
+@Slf4j
+public class ExpiryCalendar {
+
+    private final SubscriptionRepository subscriptionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+
+    private static final TreeMap<Long, Entry> EMPTY_BUCKET = new TreeMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<LocalDate, TreeMap<Long, Entry>> buckets = new HashMap<>();
+    private final Map<Long, LocalDate> endDates = new HashMap<>();
+    private LocalDate first;
+    private LocalDate last;
+    private volatile boolean ready;
+
+    /**
+     * What changed in the window: rows added or changed (including rows whose status moved at
+     * rollover) and IDs that left it, relative to {@code today}. {@code reset} means the window was
+     * reloaded and holders of a copy should fetch it again.
+     */
+    public record WindowChange(LocalDate today, boolean reset, List<SubscriptionRepository.EndingRow> upserted, List<Long> removed) {
+    }
+
+    /** One notification candidate; the getters match {@link SubscriptionRepository.EndingRow}. */
+    @Getter
+    @RequiredArgsConstructor
+    static final class Entry implements SubscriptionRepository.EndingRow {
+        private final Long subscriptionId;
+        private final Long subscriberId;
+        private final String firstName;
+        private final String lastName;
+        private final LocalDate endDate;
+
+        Entry withName(String newFirstName, String newLastName) {
+            return new Entry(subscriptionId, subscriberId, newFirstName, newLastName, endDate);
+        }
+    }
+
+    public ExpiryCalendar(
+            SubscriptionRepository subscriptionRepository,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${app.notifications.expiry-calendar.enabled:true}") boolean enabled) {
+        this.subscriptionRepository = subscriptionRepository;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (enabled) {
+            load(LocalDate.now());
+        }
+    }
+
+    @Scheduled(cron = "${app.notifications.expiry-calendar.rollover-cron:0 0 0 * * *}")
+    public void rollover() {
+        if (enabled) {
+            roll(LocalDate.now());
+        }
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /** The day the loaded window is centred on. */
+    public LocalDate today() {
+        lock.readLock().lock();
+        try {
+            return first == null ? null : first.plusDays(NotificationService.LOOKBACK_DAYS);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rows ending between {@code from} and {@code to}, ordered by end date then ID, or null when the
+     * calendar is not ready or does not cover the whole range.
+     */
+    public List<SubscriptionRepository.EndingRow> between(LocalDate from, LocalDate to) {
+        if (!isReady()) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            if (from.isBefore(first) || to.isAfter(last)) {
+                return null;
+            }
+            List<SubscriptionRepository.EndingRow> rows = new ArrayList<>();
+            for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+                TreeMap<Long, Entry> bucket = buckets.get(day);
+                if (bucket != null) {
+                    rows.addAll(bucket.values());
+                }
+            }
+            return rows;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Loads the window around {@code today} from the database, replacing whatever was held. */
+    void load(LocalDate today) {
+        lock.writeLock().lock();
+        try {
+            reload(today);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        publish(new WindowChange(today, true, List.of(), List.of()));
+    }
+
+    /**
+     * Moves the window to {@code today}: days that left it are dropped and only the days that entered
+     * it are read. The read happens under the write lock so a write committed meanwhile is applied
+     * after it rather than overwritten by it. Rows that became due for renewal or expired today are
+     * reported as changed along with the new ones.
+     */
+    void roll(LocalDate today) {
+        LocalDate newFirst = today.minusDays(NotificationService.LOOKBACK_DAYS);
+        LocalDate newLast = today.plusDays(NotificationService.LOOKAHEAD_DAYS);
+        List<SubscriptionRepository.EndingRow> upserted = new ArrayList<>();
+        List<Long> removed = new ArrayList<>();
+        boolean reset = false;
+        lock.writeLock().lock();
+        try {
+            if (!ready || newFirst.isBefore(first) || newFirst.isAfter(last)) {
+                reload(today);
+                reset = true;
+            } else {
+                Iterator<Map.Entry<LocalDate, TreeMap<Long, Entry>>> days = buckets.entrySet().iterator();
+                while (days.hasNext()) {
+                    Map.Entry<LocalDate, TreeMap<Long, Entry>> day = days.next();
+                    if (day.getKey().isBefore(newFirst)) {
+                        removed.addAll(day.getValue().keySet());
+                        day.getValue().keySet().forEach(endDates::remove);
+                        days.remove();
+                    }
+                }
+                for (LocalDate day = today(); day.isBefore(today); day = day.plusDays(1)) {
+                    upserted.addAll(bucket(day).values());
+                    upserted.addAll(bucket(day.plusDays(1 + SubscriptionStatus.RENEWAL_REQUIRED_THRESHOLD_DAYS)).values());
+                }
+                LocalDate previousLast = last;
+                first = newFirst;
+                last = newLast;
+                if (newLast.isAfter(previousLast)) {
+                    for (SubscriptionRepository.EndingRow row : subscriptionRepository.findEndingRowsBetween(previousLast.plusDays(1), newLast)) {
+                        upserted.add(insert(row));
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        publish(new WindowChange(today, reset, upserted, removed));
+    }
+
+    /** Records the state of {@code subscription} as written, dropping it once it is no longer live. */
+    public void put(Subscription subscription) {
+        Long id = subscription.getId();
+        boolean live = !Boolean.TRUE.equals(subscription.getDeleted())
+                && subscription.getSubscriber() != null
+                && !Boolean.TRUE.equals(subscription.getSubscriber().getDeleted());
+        Entry entry = live
+                ? new Entry(id, subscription.getSubscriber().getId(), subscription.getSubscriber().getFirstName(),
+                        subscription.getSubscriber().getLastName(), subscription.getEndDate())
+                : null;
+        AfterCommit.run(() -> {
+            WindowChange change;
+            lock.writeLock().lock();
+            try {
+                boolean wasPresent = remove(id);
+                if (entry != null && ready && !entry.getEndDate().isBefore(first) && !entry.getEndDate().isAfter(last)) {
+                    change = new WindowChange(today(), false, List.of(insert(entry)), List.of());
+                } else {
+                    change = wasPresent ? new WindowChange(today(), false, List.of(), List.of(id)) : null;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            publish(change);
+        });
+    }
+
+    public void evict(Long subscriptionId) {
+        AfterCommit.run(() -> {
+            WindowChange change;
+            lock.writeLock().lock();
+            try {
+                change = remove(subscriptionId) ? new WindowChange(today(), false, List.of(), List.of(subscriptionId)) : null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            publish(change);
+        });
+    }
+
+    public void renameSubscriber(Long subscriberId, String firstName, String lastName) {
+        AfterCommit.run(() -> {
+            List<SubscriptionRepository.EndingRow> renamed = new ArrayList<>();
+            LocalDate today;
+            lock.writeLock().lock();
+            try {
+                for (TreeMap<Long, Entry> bucket : buckets.values()) {
+                    bucket.replaceAll((id, entry) -> {
+                        if (!entry.getSubscriberId().equals(subscriberId)) {
+                            return entry;
+                        }
+                        Entry updated = entry.withName(firstName, lastName);
+                        renamed.add(updated);
+                        return updated;
+                    });
+                }
+                today = today();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            publish(renamed.isEmpty() ? null : new WindowChange(today, false, renamed, List.of()));
+        });
+    }
+
+    public void evictSubscribers(Collection<Long> subscriberIds) {
+        Set<Long> snapshot = Set.copyOf(subscriberIds);
+        AfterCommit.run(() -> {
+            List<Long> removed = new ArrayList<>();
+            LocalDate today;
+            lock.writeLock().lock();
+            try {
+                for (TreeMap<Long, Entry> bucket : buckets.values()) {
+                    bucket.values().removeIf(entry -> {
+                        boolean gone = snapshot.contains(entry.getSubscriberId());
+                        if (gone) {
+                            endDates.remove(entry.getSubscriptionId());
+                            removed.add(entry.getSubscriptionId());
+                        }
+                        return gone;
+                    });
+                }
+                today = today();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            publish(removed.isEmpty() ? null : new WindowChange(today, false, List.of(), removed));
+        });
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return endDates.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void reload(LocalDate today) {
+        buckets.clear();
+        endDates.clear();
+        first = today.minusDays(NotificationService.LOOKBACK_DAYS);
+        last = today.plusDays(NotificationService.LOOKAHEAD_DAYS);
+        subscriptionRepository.findEndingRowsBetween(first, last).forEach(this::insert);
+        ready = true;
+        log.info("Expiry calendar loaded for {} to {}: {} subscriptions.", first, last, endDates.size());
+    }
+
+    private Map<Long, Entry> bucket(LocalDate day) {
+        return buckets.getOrDefault(day, EMPTY_BUCKET);
+    }
+
+    private void publish(WindowChange change) {
+        if (change != null) {
+            eventPublisher.publishEvent(change);
+        }
+    }
+
+    private Entry insert(SubscriptionRepository.EndingRow row) {
+        Entry entry = row instanceof Entry known
+                ? known
+                : new Entry(row.getSubscriptionId(), row.getSubscriberId(), row.getFirstName(), row.getLastName(), row.getEndDate());
+        buckets.computeIfAbsent(entry.getEndDate(), day -> new TreeMap<>()).put(entry.getSubscriptionId(), entry);
+        endDates.put(entry.getSubscriptionId(), entry.getEndDate());
+        return entry;
+    }
+
+    private boolean remove(Long subscriptionId) {
+        LocalDate endDate = endDates.remove(subscriptionId);
+        if (endDate == null) {
+            return false;
+        }
+        TreeMap<Long, Entry> bucket = buckets.get(endDate);
+        bucket.remove(subscriptionId);
+        if (bucket.isEmpty()) {
+            buckets.remove(endDate);
+        }
+        return true;
+    }
+}
@@ -1,68 +1,99 @@
 package com.example.subscription.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import java.security.Key;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
-import java.util.function.Function;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+/**
+ * Issues and verifies HS256 tokens. The signing key and parser are built once, and tokens that
+ * passed verification are remembered in a concurrent Caffeine cache (up to
+ * {@code app.jwt.verified-cache-size}) until they expire, so a client reusing its token costs one
+ * signature check and lookups do not contend on a lock.
+ */
 @Service
 public class JwtService {
 
-    private final String secret;
     private final long expirationMs;
+    private final Clock clock;
+    private final Key signingKey;
+    private final JwtParser parser;
+    private final Cache<String, VerifiedToken> verified;
 
+    @Autowired
     public JwtService(
             @Value("${app.jwt.secret}") String secret,
-            @Value("${app.jwt.expiration-ms:86400000}") long expirationMs) {
-        this.secret = secret;
+            @Value("${app.jwt.expiration-ms:86400000}") long expirationMs,
+            @Value("${app.jwt.verified-cache-size:10000}") int verifiedCacheSize) {
+        this(secret, expirationMs, verifiedCacheSize, Clock.systemUTC());
+    }
+
+    JwtService(String secret, long expirationMs, int verifiedCacheSize, Clock clock) {
         this.expirationMs = expirationMs;
+        this.clock = clock;
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .setClock(() -> Date.from(clock.instant()))
+                .build();
+        // no token outlives expirationMs; the exact expiry is still checked on every hit
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(Math.max(1, verifiedCacheSize))
+                .expireAfterWrite(Duration.ofMillis(expirationMs))
+                .build();
     }
 
     public String generateToken(String username) {
-        Date now = new Date();
+        Date now = Date.from(clock.instant());
         Date expiry = new Date(now.getTime() + expirationMs);
         return Jwts.builder()
                 .setSubject(username)
                 .setIssuedAt(now)
                 .setExpiration(expiry)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
-    }
-
-    public boolean isTokenValid(String token, String username) {
-        String subject = extractUsername(token);
-        return subject.equals(username) && !isTokenExpired(token);
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
+    /** Subject of {@code token} if its signature is valid and it has not expired, otherwise empty. */
+    public Optional<String> verifiedUsername(String token) {
+        Instant now = clock.instant();
+        VerifiedToken cached = verified.getIfPresent(token);
+        if (cached != null) {
+            if (now.isBefore(cached.expiresAt())) {
+                return Optional.of(cached.username());
+            }
+            verified.invalidate(token);
+            return Optional.empty();
+        }
 
-    private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claimsResolver.apply(claims);
+        Claims claims;
+        try {
+            claims = parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        if (claims.getSubject() == null || claims.getExpiration() == null) {
+            return Optional.empty();
+        }
+        VerifiedToken entry = new VerifiedToken(claims.getSubject(), claims.getExpiration().toInstant());
+        verified.put(token, entry);
+        return Optional.of(entry.username());
     }
 
-    private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secret);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private record VerifiedToken(String username, Instant expiresAt) {
     }
 }
@@ -0,0 +1,78 @@
+package com.example.subscription.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fixed-window login throttling: each client IP gets a budget of attempts and each username a
+ * budget of failed attempts per window from each IP. Failures are counted per username and IP so
+ * that guessing from one client cannot lock the account out for everyone else. Over budget, logins
+ * are refused with 429 before any password hashing happens. A successful login resets the
+ * failures of that username and IP.
+ */
+@Component
+public class LoginThrottle {
+
+    private static final int PRUNE_THRESHOLD = 10_000;
+
+    private final int maxAttemptsPerIp;
+    private final int maxFailuresPerUser;
+    private final long windowMs;
+
+    private final Map<String, Window> attemptsByIp = new ConcurrentHashMap<>();
+    private final Map<String, Window> failuresByUserAndIp = new ConcurrentHashMap<>();
+
+    public LoginThrottle(
+            @Value("${app.auth.login.max-attempts-per-ip:30}") int maxAttemptsPerIp,
+            @Value("${app.auth.login.max-failures-per-user:5}") int maxFailuresPerUser,
+            @Value("${app.auth.login.window-ms:60000}") long windowMs) {
+        this.maxAttemptsPerIp = maxAttemptsPerIp;
+        this.maxFailuresPerUser = maxFailuresPerUser;
+        this.windowMs = windowMs;
+    }
+
+    /** Counts an attempt from {@code clientIp} and refuses it if either budget is spent. */
+    public void acquire(String username, String clientIp) {
+        long now = System.currentTimeMillis();
+        if (count(failuresByUserAndIp, key(username, clientIp), now, 0) >= maxFailuresPerUser) {
+            throw tooManyAttempts();
+        }
+        if (count(attemptsByIp, clientIp, now, 1) > maxAttemptsPerIp) {
+            throw tooManyAttempts();
+        }
+    }
+
+    public void recordFailure(String username, String clientIp) {
+        count(failuresByUserAndIp, key(username, clientIp), System.currentTimeMillis(), 1);
+    }
+
+    public void recordSuccess(String username, String clientIp) {
+        failuresByUserAndIp.remove(key(username, clientIp));
+    }
+
+    private static String key(String username, String clientIp) {
+        return username + '\n' + clientIp;
+    }
+
+    private int count(Map<String, Window> windows, String key, long now, int increment) {
+        if (windows.size() > PRUNE_THRESHOLD) {
+            windows.values().removeIf(window -> window.start() + windowMs <= now);
+        }
+        Window window = windows.compute(key, (ignored, current) -> {
+            if (current == null || current.start() + windowMs <= now) {
+                return new Window(now, increment);
+            }
+            return increment == 0 ? current : new Window(current.start(), current.count() + increment);
+        });
+        return window.count();
+    }
+
+    private static TooManyAttemptsException tooManyAttempts() {
+        return new TooManyAttemptsException("Too many login attempts, try again later");
+    }
+
+    private record Window(long start, int count) {
+    }
+}
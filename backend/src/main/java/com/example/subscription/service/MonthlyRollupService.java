@@ -0,0 +1,270 @@
+package com.example.subscription.service;
+
+import com.example.subscription.model.MonthlyRollup;
+import com.example.subscription.model.Subscription;
+import com.example.subscription.repository.MonthlyRollupRepository;
+import com.example.subscription.repository.SubscriberRepository;
+import com.example.subscription.repository.SubscriptionRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Maintains {@link MonthlyRollup} rows. Writers snapshot what they are about to change with
+ * {@link #snapshot}, perform the write, then call {@link #apply} with the snapshot so the rollup
+ * moves by the difference. {@link #rebuild} recomputes every row from the subscriptions table.
+ * A rebuild is serialised with writers: a writer holds the shared side of {@code rebuildLock} from
+ * its first {@link #apply} until its transaction completes, a rebuild holds the exclusive side until
+ * its own does, so a rebuild never reads subscriptions around a delta that is not committed yet and
+ * no delta lands between its delete and its inserts. A snapshot row-locks the subscribers it reads
+ * the churn month of, so concurrent writers for a subscriber take turns instead of both moving its
+ * churn from the same month. Like the other in-memory structures this assumes a single application
+ * instance.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class MonthlyRollupService {
+
+    private static final long REBUILD_LOCK_TIMEOUT_SECONDS = 10;
+
+    private final MonthlyRollupRepository monthlyRollupRepository;
+    private final SubscriptionRepository subscriptionRepository;
+    private final SubscriberRepository subscriberRepository;
+    private final AdminPinService adminPinService;
+    private final ReentrantReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+
+    /** What a set of subscriptions contributed to the rollup before a write. */
+    public record Snapshot(List<Contribution> contributions, Map<Long, LocalDate> lastEndDates) {
+    }
+
+    /** Contribution of {@code count} live subscriptions sharing a start and end month. */
+    public record Contribution(YearMonth startMonth, YearMonth endMonth, BigDecimal amount, long count) {
+
+        static Contribution of(Subscription subscription) {
+            boolean live = !Boolean.TRUE.equals(subscription.getDeleted())
+                    && subscription.getSubscriber() != null
+                    && !Boolean.TRUE.equals(subscription.getSubscriber().getDeleted());
+            return live
+                    ? new Contribution(YearMonth.from(subscription.getStartDate()), YearMonth.from(subscription.getEndDate()), subscription.getAmount(), 1)
+                    : null;
+        }
+    }
+
+    public List<MonthlyRollup> monthly(YearMonth from, YearMonth to) {
+        return monthlyRollupRepository.findByPeriodBetweenOrderByPeriod(MonthlyRollup.periodOf(from), MonthlyRollup.periodOf(to));
+    }
+
+    /**
+     * Captures the current contribution of {@code subscriptions} and the churn month of
+     * {@code subscriberIds}, whose rows stay locked until the transaction ends.
+     */
+    public Snapshot snapshot(Collection<Subscription> subscriptions, Collection<Long> subscriberIds) {
+        lockSubscribers(subscriberIds);
+        return new Snapshot(contributions(subscriptions), lastLiveEndDates(subscriberIds));
+    }
+
+    /**
+     * Captures everything the live subscriptions of {@code subscriberIds} contribute, aggregated in
+     * the database, for writes that remove whole subscribers without loading their subscriptions.
+     */
+    public Snapshot snapshotSubscribers(Collection<Long> subscriberIds) {
+        if (subscriberIds.isEmpty()) {
+            return new Snapshot(List.of(), Map.of());
+        }
+        lockSubscribers(subscriberIds);
+        List<Contribution> contributions = subscriptionRepository.liveContributionsOf(subscriberIds).stream()
+                .map(totals -> new Contribution(
+                        YearMonth.of(totals.getStartYear(), totals.getStartMonth()),
+                        YearMonth.of(totals.getEndYear(), totals.getEndMonth()),
+                        totals.getAmount(),
+                        totals.getCount()))
+                .toList();
+        return new Snapshot(contributions, lastLiveEndDates(subscriberIds));
+    }
+
+    /**
+     * Moves the rollup from the state captured in {@code before} to the current state of
+     * {@code after} (the same subscriptions once written; empty when they were deleted).
+     */
+    public void apply(Snapshot before, Collection<Subscription> after) {
+        Map<YearMonth, Delta> deltas = new TreeMap<>();
+        for (Contribution contribution : before.contributions()) {
+            add(deltas, contribution, -1);
+        }
+        for (Contribution contribution : contributions(after)) {
+            add(deltas, contribution, 1);
+        }
+        Map<Long, LocalDate> currentEndDates = lastLiveEndDates(before.lastEndDates().keySet());
+        for (Map.Entry<Long, LocalDate> entry : before.lastEndDates().entrySet()) {
+            LocalDate previous = entry.getValue();
+            LocalDate current = currentEndDates.get(entry.getKey());
+            if (previous != null) {
+                deltas.computeIfAbsent(YearMonth.from(previous), key -> new Delta()).churned -= 1;
+            }
+            if (current != null) {
+                deltas.computeIfAbsent(YearMonth.from(current), key -> new Delta()).churned += 1;
+            }
+        }
+        if (deltas.values().stream().allMatch(Delta::isZero)) {
+            return;
+        }
+        Lock lock = rebuildLock.readLock();
+        lock.lock();
+        boolean held = holdUntilCompletion(lock);
+        try {
+            deltas.forEach(this::increment);
+        } finally {
+            if (!held) {
+                lock.unlock();
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuildIfEmpty() {
+        if (monthlyRollupRepository.count() == 0 && subscriptionRepository.count() > 0) {
+            rebuild();
+        }
+    }
+
+    @Transactional
+    public int rebuild(String adminPin) {
+        adminPinService.validateOrThrow(adminPin);
+        return rebuild();
+    }
+
+    @Transactional
+    public int rebuild() {
+        Lock lock = rebuildLock.writeLock();
+        try {
+            if (!lock.tryLock(REBUILD_LOCK_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                throw new ServiceBusyException("Monthly rollups are being updated, try the rebuild again later");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Monthly rollup rebuild interrupted");
+        }
+        boolean held = holdUntilCompletion(lock);
+        try {
+            return recompute();
+        } finally {
+            if (!held) {
+                lock.unlock();
+            }
+        }
+    }
+
+    private int recompute() {
+        Map<YearMonth, MonthlyRollup> rollups = new TreeMap<>();
+        for (SubscriptionRepository.MonthTotals totals : subscriptionRepository.totalsByStartMonth()) {
+            MonthlyRollup rollup = rollups.computeIfAbsent(YearMonth.of(totals.getYear(), totals.getMonth()), MonthlyRollup::new);
+            rollup.setNewSubscriptions(totals.getCount());
+            rollup.setRevenue(totals.getAmount());
+        }
+        for (SubscriptionRepository.MonthTotals totals : subscriptionRepository.totalsByEndMonth()) {
+            rollups.computeIfAbsent(YearMonth.of(totals.getYear(), totals.getMonth()), MonthlyRollup::new)
+                    .setExpirations(totals.getCount());
+        }
+        for (LocalDate lastEndDate : subscriptionRepository.findLastLiveEndDatePerSubscriber()) {
+            MonthlyRollup rollup = rollups.computeIfAbsent(YearMonth.from(lastEndDate), MonthlyRollup::new);
+            rollup.setChurnedSubscribers(rollup.getChurnedSubscribers() + 1);
+        }
+
+        monthlyRollupRepository.deleteAllRows();
+        monthlyRollupRepository.saveAll(rollups.values());
+        log.info("Rebuilt monthly rollups: {} months.", rollups.size());
+        return rollups.size();
+    }
+
+    private void increment(YearMonth month, Delta delta) {
+        if (delta.isZero()) {
+            return;
+        }
+        int period = MonthlyRollup.periodOf(month);
+        if (monthlyRollupRepository.increment(period, delta.revenue, delta.newSubscriptions, delta.expirations, delta.churned) == 0) {
+            // first write to the month; a concurrent writer may create the row first, the insert then does nothing
+            monthlyRollupRepository.insertEmpty(period, month.getYear(), month.getMonthValue());
+            monthlyRollupRepository.increment(period, delta.revenue, delta.newSubscriptions, delta.expirations, delta.churned);
+        }
+    }
+
+    /**
+     * Keeps {@code lock}, already acquired, until the current transaction completes. Returns false
+     * when the caller must release it itself: outside a transaction, or when the transaction holds
+     * it already.
+     */
+    private static boolean holdUntilCompletion(Lock lock) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive() || TransactionSynchronizationManager.hasResource(lock)) {
+            return false;
+        }
+        TransactionSynchronizationManager.bindResource(lock, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResource(lock);
+                lock.unlock();
+            }
+        });
+        return true;
+    }
+
+    private void lockSubscribers(Collection<Long> subscriberIds) {
+        if (!subscriberIds.isEmpty()) {
+            subscriberRepository.lockByIds(subscriberIds);
+        }
+    }
+
+    /** Last live end date of each subscriber, null for subscribers without live subscriptions. */
+    private Map<Long, LocalDate> lastLiveEndDates(Collection<Long> subscriberIds) {
+        Map<Long, LocalDate> lastEndDates = new HashMap<>();
+        if (subscriberIds.isEmpty()) {
+            return lastEndDates;
+        }
+        subscriberIds.forEach(id -> lastEndDates.put(id, null));
+        for (SubscriptionRepository.LastEndDate row : subscriptionRepository.findLastLiveEndDates(subscriberIds)) {
+            lastEndDates.put(row.getSubscriberId(), row.getLastEndDate());
+        }
+        return lastEndDates;
+    }
+
+    private static void add(Map<YearMonth, Delta> deltas, Contribution contribution, int sign) {
+        Delta start = deltas.computeIfAbsent(contribution.startMonth(), key -> new Delta());
+        start.newSubscriptions += sign * contribution.count();
+        start.revenue = sign > 0 ? start.revenue.add(contribution.amount()) : start.revenue.subtract(contribution.amount());
+        deltas.computeIfAbsent(contribution.endMonth(), key -> new Delta()).expirations += sign * contribution.count();
+    }
+
+    private static List<Contribution> contributions(Collection<Subscription> subscriptions) {
+        return subscriptions.stream().map(Contribution::of).filter(Objects::nonNull).toList();
+    }
+
+    private static final class Delta {
+        private BigDecimal revenue = BigDecimal.ZERO;
+        private long newSubscriptions;
+        private long expirations;
+        private long churned;
+
+        boolean isZero() {
+            return revenue.signum() == 0 && newSubscriptions == 0 && expirations == 0 && churned == 0;
+        }
+    }
+}
@@ -1,49 +1,121 @@
 package com.example.subscription.service;
 
+import com.example.subscription.dto.CacheStats;
 import com.example.subscription.dto.NotificationResponse;
-import com.example.subscription.model.Subscription;
 import com.example.subscription.model.SubscriptionStatus;
 import com.example.subscription.repository.SubscriptionRepository;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
-import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicLong;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Service;
 
+/**
+ * Daily notifications. Today's list is kept as an immutable snapshot: it is computed when the
+ * expiry calendar loads or rolls over at midnight, dropped when a write touches the notification
+ * window, and recomputed by the next request for today. Other dates, and every date while the
+ * calendar is disabled, are computed per request.
+ */
 @Service
 @RequiredArgsConstructor
 public class NotificationService {
 
-    private static final long RENEWAL_REQUIRED_THRESHOLD_DAYS = 7;
+    static final int LOOKBACK_DAYS = 2;
+    static final int LOOKAHEAD_DAYS = 14;
 
     private final SubscriptionRepository subscriptionRepository;
+    private final ExpiryCalendar expiryCalendar;
+
+    private final Object snapshotLock = new Object();
+    private volatile Snapshot snapshot;
+    private long generation;
+    private final AtomicLong snapshotHits = new AtomicLong();
+    private final AtomicLong snapshotMisses = new AtomicLong();
+
+    private record Snapshot(LocalDate date, List<NotificationResponse> notifications) {
+    }
 
     public List<NotificationResponse> daily(LocalDate referenceDate) {
-        LocalDate start = referenceDate.minusDays(2);
-        LocalDate end = referenceDate.plusDays(14);
-        List<Subscription> candidates = subscriptionRepository.findEndingBetween(start, end);
+        Snapshot current = snapshot;
+        if (current != null && current.date().equals(referenceDate)) {
+            snapshotHits.incrementAndGet();
+            return current.notifications();
+        }
+        if (expiryCalendar.isReady() && referenceDate.equals(expiryCalendar.today())) {
+            snapshotMisses.incrementAndGet();
+            return regenerate(referenceDate);
+        }
+        return compute(referenceDate);
+    }
+
+    /**
+     * Runs before other listeners of the same change so they never read a snapshot the change made
+     * stale. A new day or a reload is computed at once; a write only drops the snapshot.
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onWindowChange(ExpiryCalendar.WindowChange change) {
+        Snapshot previous;
+        synchronized (snapshotLock) {
+            previous = snapshot;
+            generation++;
+            snapshot = null;
+        }
+        if (change.reset() || previous == null || !previous.date().equals(change.today())) {
+            regenerate(change.today());
+        }
+    }
+
+    public CacheStats snapshotStats() {
+        Snapshot current = snapshot;
+        return CacheStats.of("notifications.daily", current == null ? 0 : current.notifications().size(), 1,
+                snapshotHits.get(), snapshotMisses.get());
+    }
+
+    /**
+     * Computes the list for {@code date} and publishes it as the snapshot unless a change arrived
+     * meanwhile; the result is returned either way.
+     */
+    private List<NotificationResponse> regenerate(LocalDate date) {
+        long expected;
+        synchronized (snapshotLock) {
+            expected = generation;
+        }
+        List<NotificationResponse> notifications = List.copyOf(compute(date));
+        synchronized (snapshotLock) {
+            if (generation == expected) {
+                snapshot = new Snapshot(date, notifications);
+            }
+        }
+        return notifications;
+    }
+
+    private List<NotificationResponse> compute(LocalDate referenceDate) {
+        LocalDate start = referenceDate.minusDays(LOOKBACK_DAYS);
+        LocalDate end = referenceDate.plusDays(LOOKAHEAD_DAYS);
+        List<SubscriptionRepository.EndingRow> candidates = expiryCalendar.between(start, end);
+        if (candidates == null) {
+            candidates = subscriptionRepository.findEndingRowsBetween(start, end);
+        }
 
         return candidates.stream()
-                .map(sub -> {
-                    long daysUntilEnd = ChronoUnit.DAYS.between(referenceDate, sub.getEndDate());
-                    SubscriptionStatus status = daysUntilEnd < 0
-                        ? SubscriptionStatus.EXPIRED
-                        : daysUntilEnd <= RENEWAL_REQUIRED_THRESHOLD_DAYS
-                            ? SubscriptionStatus.RENEWAL_REQUIRED
-                            : SubscriptionStatus.ACTIVE;
-                    return new NotificationResponse(
-                            sub.getId(),
-                            sub.getSubscriber() != null ? sub.getSubscriber().getId() : null,
-                            sub.getSubscriber() != null
-                                    ? sub.getSubscriber().getFirstName() + " " + sub.getSubscriber().getLastName()
-                                    : "Unknown",
-                            sub.getEndDate(),
-                            daysUntilEnd,
-                            status);
-                })
-                .sorted(Comparator.comparing(NotificationResponse::endDate))
-                .collect(Collectors.toList());
+                .map(row -> toResponse(row, referenceDate))
+                .toList();
+    }
+
+    static NotificationResponse toResponse(SubscriptionRepository.EndingRow row, LocalDate referenceDate) {
+        long daysUntilEnd = ChronoUnit.DAYS.between(referenceDate, row.getEndDate());
+        SubscriptionStatus status = SubscriptionStatus.ofDaysUntilEnd(daysUntilEnd);
+        return new NotificationResponse(
+                row.getSubscriptionId(),
+                row.getSubscriberId(),
+                row.getFirstName() + " " + row.getLastName(),
+                row.getEndDate(),
+                daysUntilEnd,
+                status);
     }
 }
@@ -0,0 +1,184 @@
+package com.example.subscription.service;
+
+import com.example.subscription.dto.NotificationEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Server-sent event push of the daily notification list. A client gets a {@code snapshot} on
+ * connect, then a {@code change} event for every {@link ExpiryCalendar.WindowChange}: writes that
+ * touch the window and the midnight rollover, when rows become due for renewal or expire. A comment
+ * line is sent every {@code app.notifications.stream.heartbeat-ms} so proxies keep idle streams
+ * open. Each client has a bounded queue drained by a small sender pool; a client that falls
+ * {@code queue-capacity} events behind is disconnected and resynchronises with a new snapshot when
+ * it reconnects. At most {@code max-clients} streams are open at once, beyond that 503.
+ */
+@Service
+@Slf4j
+public class NotificationStream {
+
+    private final ExpiryCalendar expiryCalendar;
+    private final NotificationService notificationService;
+    private final int maxClients;
+    private final int queueCapacity;
+    private final long timeoutMs;
+    private final ExecutorService sender;
+    private final Set<Client> clients = ConcurrentHashMap.newKeySet();
+    private final Counter dropped;
+
+    public NotificationStream(
+            ExpiryCalendar expiryCalendar,
+            NotificationService notificationService,
+            MeterRegistry meterRegistry,
+            @Value("${app.notifications.stream.max-clients:200}") int maxClients,
+            @Value("${app.notifications.stream.queue-capacity:64}") int queueCapacity,
+            @Value("${app.notifications.stream.timeout-ms:1800000}") long timeoutMs,
+            @Value("${app.notifications.stream.sender-threads:2}") int senderThreads) {
+        this.expiryCalendar = expiryCalendar;
+        this.notificationService = notificationService;
+        this.maxClients = maxClients;
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.timeoutMs = timeoutMs;
+        AtomicInteger sequence = new AtomicInteger();
+        this.sender = Executors.newFixedThreadPool(Math.max(1, senderThreads), runnable -> {
+            Thread thread = new Thread(runnable, "notification-stream-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("app.notifications.stream.clients", clients, Set::size).register(meterRegistry);
+        this.dropped = Counter.builder("app.notifications.stream.dropped")
+                .description("Streams closed because the client did not keep up")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter open() {
+        if (!expiryCalendar.isReady()) {
+            throw new ServiceBusyException("Notification stream is not available");
+        }
+        Client client = new Client(new SseEmitter(timeoutMs));
+        synchronized (clients) {
+            if (clients.size() >= maxClients) {
+                throw new ServiceBusyException("Too many notification streams open, try again later");
+            }
+            clients.add(client);
+        }
+        client.emitter.onCompletion(() -> clients.remove(client));
+        client.emitter.onTimeout(() -> close(client));
+        client.emitter.onError(error -> close(client));
+
+        LocalDate today = expiryCalendar.today();
+        client.offer(event("snapshot", new NotificationEvent(today, notificationService.daily(today), List.of())));
+        return client.emitter;
+    }
+
+    @EventListener
+    public void onWindowChange(ExpiryCalendar.WindowChange change) {
+        if (clients.isEmpty()) {
+            return;
+        }
+        Set<ResponseBodyEmitter.DataWithMediaType> data = change.reset()
+                ? event("snapshot", new NotificationEvent(change.today(), notificationService.daily(change.today()), List.of()))
+                : event("change", new NotificationEvent(
+                        change.today(),
+                        change.upserted().stream().map(row -> NotificationService.toResponse(row, change.today())).toList(),
+                        change.removed()));
+        clients.forEach(client -> client.offer(data));
+    }
+
+    @Scheduled(fixedRateString = "${app.notifications.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        if (clients.isEmpty()) {
+            return;
+        }
+        Set<ResponseBodyEmitter.DataWithMediaType> data = SseEmitter.event().comment("heartbeat").build();
+        clients.forEach(client -> client.offer(data));
+    }
+
+    public int clientCount() {
+        return clients.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        clients.forEach(this::close);
+        sender.shutdownNow();
+    }
+
+    private void close(Client client) {
+        client.closed = true;
+        clients.remove(client);
+        client.emitter.complete();
+    }
+
+    private static Set<ResponseBodyEmitter.DataWithMediaType> event(String name, NotificationEvent payload) {
+        return SseEmitter.event().name(name).data(payload, MediaType.APPLICATION_JSON).build();
+    }
+
+    /** One open stream; events are queued and written by the sender pool, one drain at a time. */
+    private final class Client {
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        Client(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(Set<ResponseBodyEmitter.DataWithMediaType> data) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offer(data)) {
+                dropped.increment();
+                log.debug("Closing a notification stream that is {} events behind.", queueCapacity);
+                close(this);
+                return;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Set<ResponseBodyEmitter.DataWithMediaType> next;
+                while (!closed && (next = queue.poll()) != null) {
+                    emitter.send(next);
+                }
+            } catch (IOException | IllegalStateException e) {
+                close(this);
+            } finally {
+                draining.set(false);
+            }
+            if (!closed && !queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.subscription.service;
+
+import jakarta.annotation.PreDestroy;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs password checks on a small dedicated pool so BCrypt cannot occupy more than
+ * {@code app.auth.login.threads} cores. At most {@code app.auth.login.queue-capacity} checks wait
+ * behind them; beyond that logins are refused with 503 at once instead of parking request threads.
+ * Unknown usernames are checked against a hash made at startup with the same encoder, so they take
+ * as long as a wrong password and response times do not tell which accounts exist.
+ */
+@Component
+public class PasswordVerifier {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+    private final String unknownUserHash;
+
+    public PasswordVerifier(
+            PasswordEncoder passwordEncoder,
+            @Value("${app.auth.login.threads:2}") int threads,
+            @Value("${app.auth.login.queue-capacity:32}") int queueCapacity,
+            @Value("${app.auth.login.timeout-ms:10000}") long timeoutMs) {
+        this.passwordEncoder = passwordEncoder;
+        this.timeoutMs = timeoutMs;
+        this.unknownUserHash = passwordEncoder.encode(UUID.randomUUID().toString());
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "login-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        Future<Boolean> result;
+        try {
+            result = executor.submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+        } catch (RejectedExecutionException e) {
+            throw busy();
+        }
+        try {
+            return result.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            throw busy();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.cancel(true);
+            throw busy();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password check failed", e.getCause());
+        }
+    }
+
+    /** Does the work of {@link #matches} for a username without an account; always false. */
+    public boolean matchesUnknownUser(String rawPassword) {
+        matches(rawPassword, unknownUserHash);
+        return false;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static ServiceBusyException busy() {
+        return new ServiceBusyException("Login service is busy, try again shortly");
+    }
+}
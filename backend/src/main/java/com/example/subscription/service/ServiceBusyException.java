@@ -0,0 +1,9 @@
+package com.example.subscription.service;
+
+/** A request refused to shed load or while the service is not ready; retrying later can succeed. */
+public class ServiceBusyException extends RuntimeException {
+
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+}
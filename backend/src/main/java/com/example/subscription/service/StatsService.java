@@ -0,0 +1,88 @@
+package com.example.subscription.service;
+
+import com.example.subscription.dto.DashboardStats;
+import com.example.subscription.model.SubscriptionStatus;
+import com.example.subscription.repository.SubscriberRepository;
+import com.example.subscription.repository.SubscriptionRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Dashboard figures computed with aggregate queries. Results are kept for a short TTL per
+ * (day, window) and dropped whenever subscribers or subscriptions change.
+ */
+@Service
+public class StatsService {
+
+    private static final int MAX_EXPIRING_WITHIN_DAYS = 365;
+
+    private final SubscriptionRepository subscriptionRepository;
+    private final SubscriberRepository subscriberRepository;
+    private final long ttlMs;
+
+    private final Map<Integer, CachedStats> cache = new ConcurrentHashMap<>();
+
+    public StatsService(
+            SubscriptionRepository subscriptionRepository,
+            SubscriberRepository subscriberRepository,
+            @Value("${app.stats.cache-ttl-ms:30000}") long ttlMs) {
+        this.subscriptionRepository = subscriptionRepository;
+        this.subscriberRepository = subscriberRepository;
+        this.ttlMs = ttlMs;
+    }
+
+    public DashboardStats dashboard(int expiringWithinDays) {
+        int window = Math.max(0, Math.min(expiringWithinDays, MAX_EXPIRING_WITHIN_DAYS));
+        LocalDate today = LocalDate.now();
+        long now = System.currentTimeMillis();
+
+        CachedStats cached = cache.get(window);
+        if (cached != null && cached.expiresAt() > now && cached.stats().referenceDate().equals(today)) {
+            return cached.stats();
+        }
+
+        DashboardStats stats = compute(today, window);
+        cache.put(window, new CachedStats(stats, now + ttlMs));
+        return stats;
+    }
+
+    /** Drops cached figures once the current transaction commits. */
+    public void invalidate() {
+        AfterCommit.run(cache::clear);
+    }
+
+    private DashboardStats compute(LocalDate today, int window) {
+        long active = 0;
+        long renewalRequired = 0;
+        long expired = 0;
+        BigDecimal revenue = BigDecimal.ZERO;
+
+        for (SubscriptionRepository.StatusTotals totals : subscriptionRepository.summarizeByStatus()) {
+            switch (totals.getStatus()) {
+                case ACTIVE -> active = totals.getCount();
+                case RENEWAL_REQUIRED -> renewalRequired = totals.getCount();
+                case EXPIRED -> expired = totals.getCount();
+            }
+            if (totals.getStatus() != SubscriptionStatus.EXPIRED) {
+                revenue = revenue.add(totals.getAmount());
+            }
+        }
+
+        return new DashboardStats(
+                active,
+                renewalRequired,
+                expired,
+                revenue,
+                subscriberRepository.countByDeletedFalse(),
+                subscriptionRepository.countEndingBetween(today, today.plusDays(window)),
+                window,
+                today);
+    }
+
+    private record CachedStats(DashboardStats stats, long expiresAt) {
+    }
+}
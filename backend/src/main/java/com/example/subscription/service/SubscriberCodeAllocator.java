@@ -0,0 +1,54 @@
+package com.example.subscription.service;
+
+import com.example.subscription.repository.SubscriberRepository;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hands out unused {@code SUB-nnnnnn} codes. Candidates are generated in bulk and checked against
+ * the table with one query per round, so allocating a thousand codes costs a couple of round trips
+ * instead of one per code.
+ */
+@Component
+@RequiredArgsConstructor
+public class SubscriberCodeAllocator {
+
+    private static final int DIGITS = 6;
+
+    private final SubscriberRepository subscriberRepository;
+    private final SecureRandom random = new SecureRandom();
+
+    public String allocate() {
+        return allocate(1).get(0);
+    }
+
+    /** Returns {@code count} distinct codes that are not used by any subscriber. */
+    public List<String> allocate(int count) {
+        Set<String> allocated = new LinkedHashSet<>();
+        while (allocated.size() < count) {
+            Set<String> candidates = new LinkedHashSet<>();
+            while (candidates.size() < count - allocated.size()) {
+                String candidate = "SUB-" + randomDigits();
+                if (!allocated.contains(candidate)) {
+                    candidates.add(candidate);
+                }
+            }
+            candidates.removeAll(subscriberRepository.findExistingCodes(candidates));
+            allocated.addAll(candidates);
+        }
+        return new ArrayList<>(allocated);
+    }
+
+    private String randomDigits() {
+        StringBuilder result = new StringBuilder(DIGITS);
+        for (int index = 0; index < DIGITS; index++) {
+            result.append(random.nextInt(10));
+        }
+        return result.toString();
+    }
+}
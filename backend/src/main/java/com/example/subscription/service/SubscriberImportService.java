@@ -0,0 +1,278 @@
+package com.example.subscription.service;
+
+import com.example.subscription.dto.SubscriberImportResult;
+import com.example.subscription.dto.SubscriberRequest;
+import com.example.subscription.model.Subscriber;
+import com.example.subscription.repository.SubscriberRepository;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Bulk subscriber import from a CSV or JSON array stream. Rows are read incrementally and handled in
+ * chunks of {@code app.import.batch-size}: each chunk is validated, checked for taken emails with a
+ * single IN query, given codes from {@link SubscriberCodeAllocator} and persisted in its own
+ * transaction, which Hibernate sends as JDBC batches of {@code hibernate.jdbc.batch_size}. Invalid
+ * rows are reported individually and do not stop the import.
+ */
+@Service
+@Slf4j
+public class SubscriberImportService {
+
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final SubscriberRepository subscriberRepository;
+    private final SubscriberCodeAllocator subscriberCodeAllocator;
+    private final SubscriberSearchIndex subscriberSearchIndex;
+    private final StatsService statsService;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public SubscriberImportService(
+            SubscriberRepository subscriberRepository,
+            SubscriberCodeAllocator subscriberCodeAllocator,
+            SubscriberSearchIndex subscriberSearchIndex,
+            StatsService statsService,
+            EntityManager entityManager,
+            ObjectMapper objectMapper,
+            Validator validator,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.import.batch-size:1000}") int batchSize) {
+        this.subscriberRepository = subscriberRepository;
+        this.subscriberCodeAllocator = subscriberCodeAllocator;
+        this.subscriberSearchIndex = subscriberSearchIndex;
+        this.statsService = statsService;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Imports a CSV document whose first record is a header naming at least the {@code firstName},
+     * {@code lastName} and {@code email} columns ({@code phone} is optional; snake_case also works).
+     */
+    public SubscriberImportResult importCsv(InputStream in) {
+        ImportRun run = new ImportRun();
+        try {
+            CsvRecordReader reader = new CsvRecordReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+            List<String> header = reader.next();
+            if (header == null) {
+                throw new IllegalArgumentException("CSV header is missing");
+            }
+            Map<String, Integer> columns = columnIndexes(header);
+            List<String> record;
+            while ((record = reader.next()) != null) {
+                run.add(new SubscriberRequest(
+                        field(record, columns.get("firstname")),
+                        field(record, columns.get("lastname")),
+                        field(record, columns.get("email")),
+                        field(record, columns.get("phone"))));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return run.finish();
+    }
+
+    /** Imports a JSON array of {@link SubscriberRequest} objects. */
+    public SubscriberImportResult importJson(InputStream in) {
+        ImportRun run = new ImportRun();
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Expected a JSON array of subscribers");
+            }
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                JsonNode node = objectMapper.readTree(parser);
+                try {
+                    run.add(objectMapper.treeToValue(node, SubscriberRequest.class));
+                } catch (JsonProcessingException e) {
+                    run.reject(null, "Unreadable row: " + e.getOriginalMessage());
+                }
+            }
+        } catch (JsonParseException e) {
+            throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return run.finish();
+    }
+
+    private static Map<String, Integer> columnIndexes(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.putIfAbsent(header.get(i).replaceAll("[\\s_-]", "").toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : List.of("firstname", "lastname", "email")) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("CSV header must contain firstName, lastName and email");
+            }
+        }
+        return columns;
+    }
+
+    private static String field(List<String> record, Integer index) {
+        return index == null || index >= record.size() ? null : record.get(index);
+    }
+
+    private static String clean(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private record PendingRow(long row, SubscriberRequest request) {
+    }
+
+    /** State of one import: the current chunk, emails seen so far and the running totals. */
+    private final class ImportRun {
+        private final List<PendingRow> chunk = new ArrayList<>(batchSize);
+        private final Set<String> seenEmails = new HashSet<>();
+        private final List<SubscriberImportResult.RowError> errors = new ArrayList<>();
+        private long received;
+        private long imported;
+        private long rejected;
+
+        void add(SubscriberRequest raw) {
+            received++;
+            SubscriberRequest request = new SubscriberRequest(
+                    clean(raw.firstName()), clean(raw.lastName()), clean(raw.email()), clean(raw.phone()));
+            chunk.add(new PendingRow(received, request));
+            if (chunk.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void reject(String email, String message) {
+            received++;
+            reject(received, email, message);
+        }
+
+        SubscriberImportResult finish() {
+            flush();
+            if (imported > 0) {
+                statsService.invalidate();
+            }
+            log.info("Subscriber import finished: {} received, {} imported, {} rejected.", received, imported, rejected);
+            return new SubscriberImportResult(received, imported, rejected, List.copyOf(errors));
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            List<PendingRow> valid = new ArrayList<>(chunk.size());
+            for (PendingRow pending : chunk) {
+                String problem = validate(pending.request());
+                if (problem != null) {
+                    reject(pending.row(), pending.request().email(), problem);
+                } else if (!seenEmails.add(pending.request().email())) {
+                    reject(pending.row(), pending.request().email(), "Duplicate email in import");
+                } else {
+                    valid.add(pending);
+                }
+            }
+            chunk.clear();
+            if (valid.isEmpty()) {
+                return;
+            }
+
+            try {
+                List<PendingRow> taken = transactionTemplate.execute(status -> insert(valid));
+                for (PendingRow pending : taken) {
+                    reject(pending.row(), pending.request().email(), "Email already used");
+                }
+                imported += valid.size() - taken.size();
+            } catch (DataAccessException e) {
+                String message = "Rejected by the database: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+                for (PendingRow pending : valid) {
+                    reject(pending.row(), pending.request().email(), message);
+                }
+            }
+        }
+
+        /** Inserts the rows whose email is still free and returns the ones that were already taken. */
+        private List<PendingRow> insert(List<PendingRow> valid) {
+            Set<String> existing = new HashSet<>(subscriberRepository.findExistingEmails(
+                    valid.stream().map(pending -> pending.request().email()).toList()));
+            List<PendingRow> fresh = new ArrayList<>(valid.size());
+            List<PendingRow> taken = new ArrayList<>();
+            for (PendingRow pending : valid) {
+                (existing.contains(pending.request().email()) ? taken : fresh).add(pending);
+            }
+            if (fresh.isEmpty()) {
+                return taken;
+            }
+
+            List<String> codes = subscriberCodeAllocator.allocate(fresh.size());
+            List<Subscriber> subscribers = new ArrayList<>(fresh.size());
+            for (int i = 0; i < fresh.size(); i++) {
+                SubscriberRequest request = fresh.get(i).request();
+                Subscriber subscriber = new Subscriber();
+                subscriber.setFirstName(request.firstName());
+                subscriber.setLastName(request.lastName());
+                subscriber.setEmail(request.email());
+                subscriber.setPhone(request.phone());
+                subscriber.setCode(codes.get(i));
+                subscribers.add(subscriber);
+            }
+            subscriberRepository.saveAll(subscribers);
+            entityManager.flush();
+            entityManager.clear();
+            subscribers.forEach(subscriberSearchIndex::put);
+            return taken;
+        }
+
+        private void reject(long row, String email, String message) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new SubscriberImportResult.RowError(row, email, message));
+            }
+        }
+    }
+
+    private String validate(SubscriberRequest request) {
+        Set<ConstraintViolation<SubscriberRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,297 @@
+package com.example.subscription.service;
+
+import com.example.subscription.dto.SearchIndexStats;
+import com.example.subscription.model.SearchText;
+import com.example.subscription.model.Subscriber;
+import com.example.subscription.repository.SubscriberRepository;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * In-process trigram index over the subscriber search text, for deployments without pg_trgm. It is
+ * built once at startup and kept current by {@link SubscriberService}; soft-deleted subscribers stay
+ * indexed (history searches them) and are only dropped on purge. Queries return candidate subscriber
+ * IDs that exactly match the SQL substring search. Changes are applied after commit. Disabled unless
+ * {@code app.search.in-memory-index.enabled} is set.
+ */
+@Service
+@Slf4j
+public class SubscriberSearchIndex {
+
+    private static final int GRAM = 3;
+
+    private final SubscriberRepository subscriberRepository;
+    private final boolean enabled;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, LongPostings> postings = new HashMap<>();
+    private final Map<Long, String> texts = new HashMap<>();
+    private final LongPostings deleted = new LongPostings();
+    private volatile boolean ready;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public SubscriberSearchIndex(
+            SubscriberRepository subscriberRepository,
+            @Value("${app.search.in-memory-index.enabled:false}") boolean enabled) {
+        this.subscriberRepository = subscriberRepository;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            texts.clear();
+            deleted.clear();
+            for (SubscriberRepository.SearchRow row : subscriberRepository.findAllSearchRows()) {
+                insert(row.getId(), row.getSearchText(), Boolean.TRUE.equals(row.getDeleted()));
+            }
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Subscriber search index built: {} subscribers, {} trigrams.", texts.size(), postings.size());
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * IDs of subscribers whose search text contains {@code query}, in ascending order. Callers must
+     * check {@link #isReady()} first and fall back to the database otherwise.
+     */
+    public long[] search(String query, boolean includeDeleted) {
+        String needle = query.toLowerCase(Locale.ROOT);
+        long[] result;
+        lock.readLock().lock();
+        try {
+            result = needle.length() < GRAM ? scan(needle, includeDeleted) : lookup(needle, includeDeleted);
+        } finally {
+            lock.readLock().unlock();
+        }
+        (result.length > 0 ? hits : misses).incrementAndGet();
+        return result;
+    }
+
+    public void put(Subscriber subscriber) {
+        Long id = subscriber.getId();
+        String text = SearchText.of(subscriber.getFirstName(), subscriber.getLastName(), subscriber.getEmail(), subscriber.getCode());
+        boolean isDeleted = Boolean.TRUE.equals(subscriber.getDeleted());
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                remove(id);
+                insert(id, text, isDeleted);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void markDeleted(Long id) {
+        markDeleted(List.of(id));
+    }
+
+    public void markDeleted(Collection<Long> ids) {
+        List<Long> snapshot = List.copyOf(ids);
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                for (Long id : snapshot) {
+                    if (texts.containsKey(id)) {
+                        deleted.add(id);
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void evict(Long id) {
+        evict(List.of(id));
+    }
+
+    public void evict(Collection<Long> ids) {
+        List<Long> snapshot = List.copyOf(ids);
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                snapshot.forEach(this::remove);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public SearchIndexStats stats() {
+        lock.readLock().lock();
+        try {
+            long entries = 0;
+            long bytes = 0;
+            for (Map.Entry<String, LongPostings> entry : postings.entrySet()) {
+                entries += entry.getValue().size;
+                // map entry + key string + postings object and its backing array
+                bytes += 32 + 48 + 24 + 16 + 8L * entry.getValue().ids.length;
+            }
+            for (String text : texts.values()) {
+                // map entry + boxed key + string header and latin-1 payload
+                bytes += 32 + 16 + 40 + text.length();
+            }
+            bytes += 16 + 8L * deleted.ids.length;
+            return new SearchIndexStats(isReady(), texts.size(), postings.size(), entries, bytes, hits.get(), misses.get());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long[] lookup(String needle, boolean includeDeleted) {
+        LongPostings smallest = null;
+        for (String gram : grams(needle)) {
+            LongPostings candidates = postings.get(gram);
+            if (candidates == null) {
+                return new long[0];
+            }
+            if (smallest == null || candidates.size < smallest.size) {
+                smallest = candidates;
+            }
+        }
+
+        LongPostings matches = new LongPostings();
+        for (int i = 0; i < smallest.size; i++) {
+            long id = smallest.ids[i];
+            if (accepts(id, needle, includeDeleted)) {
+                matches.append(id);
+            }
+        }
+        return matches.toArray();
+    }
+
+    private long[] scan(String needle, boolean includeDeleted) {
+        LongPostings matches = new LongPostings();
+        for (Long id : texts.keySet()) {
+            if (accepts(id, needle, includeDeleted)) {
+                matches.append(id);
+            }
+        }
+        long[] result = matches.toArray();
+        Arrays.sort(result);
+        return result;
+    }
+
+    private boolean accepts(long id, String needle, boolean includeDeleted) {
+        return (includeDeleted || !deleted.contains(id)) && texts.get(id).contains(needle);
+    }
+
+    private void insert(Long id, String text, boolean isDeleted) {
+        if (text == null) {
+            return;
+        }
+        texts.put(id, text);
+        for (String gram : grams(text)) {
+            postings.computeIfAbsent(gram, key -> new LongPostings()).add(id);
+        }
+        if (isDeleted) {
+            deleted.add(id);
+        }
+    }
+
+    private void remove(Long id) {
+        String previous = texts.remove(id);
+        deleted.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String gram : grams(previous)) {
+            LongPostings ids = postings.get(gram);
+            if (ids != null && ids.remove(id) && ids.size == 0) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    /** Sorted, growable set of primitive subscriber IDs. */
+    private static final class LongPostings {
+        private long[] ids = new long[4];
+        private int size;
+
+        void add(long id) {
+            if (size > 0 && ids[size - 1] < id) {
+                append(id);
+                return;
+            }
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return;
+            }
+            int insertAt = -index - 1;
+            grow();
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        void append(long id) {
+            grow();
+            ids[size++] = id;
+        }
+
+        boolean remove(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        void clear() {
+            ids = new long[4];
+            size = 0;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+
+        private void grow() {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+            }
+        }
+    }
+}
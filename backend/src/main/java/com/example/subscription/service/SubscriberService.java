@@ -1,13 +1,19 @@
 package com.example.subscription.service;
 
+import com.example.subscription.dto.BulkOperationResult;
+import com.example.subscription.dto.SearchIndexStats;
 import com.example.subscription.dto.SubscriberRequest;
+import com.example.subscription.model.SearchText;
 import com.example.subscription.model.Subscriber;
-import com.example.subscription.model.Subscription;
 import com.example.subscription.repository.SubscriberRepository;
 import com.example.subscription.repository.SubscriptionRepository;
-import java.security.SecureRandom;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,6 +25,11 @@ public class SubscriberService {
     private final SubscriberRepository subscriberRepository;
     private final SubscriptionRepository subscriptionRepository;
     private final AdminPinService adminPinService;
+    private final SubscriberSearchIndex subscriberSearchIndex;
+    private final StatsService statsService;
+    private final MonthlyRollupService monthlyRollupService;
+    private final SubscriberCodeAllocator subscriberCodeAllocator;
+    private final ExpiryCalendar expiryCalendar;
 
     @Transactional
     public Subscriber create(SubscriberRequest request) {
@@ -30,15 +41,25 @@ public class SubscriberService {
         subscriber.setLastName(request.lastName());
         subscriber.setEmail(request.email());
         subscriber.setPhone(request.phone());
-        subscriber.setCode(generateUniqueCode());
-        return subscriberRepository.save(subscriber);
+        subscriber.setCode(subscriberCodeAllocator.allocate());
+        Subscriber saved = subscriberRepository.save(subscriber);
+        subscriberSearchIndex.put(saved);
+        statsService.invalidate();
+        return saved;
     }
 
     public List<Subscriber> list(String search) {
         if (search == null || search.isBlank()) {
             return subscriberRepository.findAllByDeletedFalse();
         }
-        return subscriberRepository.search(search);
+        if (subscriberSearchIndex.isReady()) {
+            long[] ids = subscriberSearchIndex.search(search, false);
+            if (ids.length == 0) {
+                return List.of();
+            }
+            return subscriberRepository.findAllByIdInAndDeletedFalse(Arrays.stream(ids).boxed().toList());
+        }
+        return subscriberRepository.search(SearchText.containsPattern(search));
     }
 
     @Transactional
@@ -55,59 +76,84 @@ public class SubscriberService {
         subscriber.setLastName(request.lastName());
         subscriber.setEmail(request.email());
         subscriber.setPhone(request.phone());
-        return subscriberRepository.save(subscriber);
+        Subscriber saved = subscriberRepository.save(subscriber);
+        subscriberSearchIndex.put(saved);
+        expiryCalendar.renameSubscriber(saved.getId(), saved.getFirstName(), saved.getLastName());
+        return saved;
     }
 
     @Transactional
     public void delete(Long id) {
-        Subscriber subscriber = subscriberRepository
-                .findByIdAndDeletedFalse(id)
-                .orElseThrow(() -> new IllegalArgumentException("Subscriber not found"));
-
-        List<Subscription> subscriptions = subscriptionRepository.findBySubscriberIdAndDeletedFalse(id);
-        LocalDateTime now = LocalDateTime.now();
-
-        for (Subscription subscription : subscriptions) {
-            subscription.setDeleted(true);
-            subscription.setDeletedAt(now);
+        if (softDelete(List.of(id)).isEmpty()) {
+            throw new IllegalArgumentException("Subscriber not found");
         }
-        subscriptionRepository.saveAll(subscriptions);
+    }
 
-        subscriber.setDeleted(true);
-        subscriber.setDeletedAt(now);
-        subscriberRepository.save(subscriber);
+    @Transactional
+    public BulkOperationResult deleteAll(Collection<Long> ids) {
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        return result(requested, softDelete(requested));
     }
 
     @Transactional
     public void purge(Long id, String adminPin) {
         adminPinService.validateOrThrow(adminPin);
-
-        Subscriber subscriber = subscriberRepository
-                .findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Subscriber not found"));
-
-        List<Subscription> subscriptions = subscriptionRepository.findBySubscriberId(id);
-        if (!subscriptions.isEmpty()) {
-            subscriptionRepository.deleteAll(subscriptions);
+        if (hardDelete(List.of(id)).isEmpty()) {
+            throw new IllegalArgumentException("Subscriber not found");
         }
+    }
+
+    @Transactional
+    public BulkOperationResult purgeAll(Collection<Long> ids, String adminPin) {
+        adminPinService.validateOrThrow(adminPin);
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        return result(requested, hardDelete(requested));
+    }
 
-        subscriberRepository.delete(subscriber);
+    public SearchIndexStats searchIndexStats() {
+        return subscriberSearchIndex.stats();
     }
 
-    private String generateUniqueCode() {
-        String code;
-        do {
-            code = "SUB-" + randomDigits(6);
-        } while (subscriberRepository.existsByCode(code));
-        return code;
+    /**
+     * Soft-deletes the live subscribers among {@code ids} and their subscriptions with two bulk
+     * UPDATEs, whatever the number of subscriptions. Returns the IDs that were deleted.
+     */
+    private List<Long> softDelete(Collection<Long> ids) {
+        List<Long> live = subscriberRepository.findLiveIds(ids);
+        if (live.isEmpty()) {
+            return live;
+        }
+        MonthlyRollupService.Snapshot before = monthlyRollupService.snapshotSubscribers(live);
+        LocalDateTime now = LocalDateTime.now();
+        subscriptionRepository.softDeleteBySubscriberIds(live, now);
+        subscriberRepository.softDeleteByIds(live, now);
+        monthlyRollupService.apply(before, List.of());
+        subscriberSearchIndex.markDeleted(live);
+        expiryCalendar.evictSubscribers(live);
+        statsService.invalidate();
+        return live;
     }
 
-    private String randomDigits(int length) {
-        SecureRandom random = new SecureRandom();
-        StringBuilder result = new StringBuilder(length);
-        for (int index = 0; index < length; index++) {
-            result.append(random.nextInt(10));
+    /** Deletes the existing subscribers among {@code ids} and all their subscriptions with two bulk DELETEs. */
+    private List<Long> hardDelete(Collection<Long> ids) {
+        List<Long> existing = subscriberRepository.findExistingIds(ids);
+        if (existing.isEmpty()) {
+            return existing;
         }
-        return result.toString();
+        MonthlyRollupService.Snapshot before = monthlyRollupService.snapshotSubscribers(existing);
+        subscriptionRepository.deleteBySubscriberIds(existing);
+        subscriberRepository.deleteByIds(existing);
+        monthlyRollupService.apply(before, List.of());
+        subscriberSearchIndex.evict(existing);
+        expiryCalendar.evictSubscribers(existing);
+        statsService.invalidate();
+        return existing;
+    }
+
+    private static BulkOperationResult result(Set<Long> requested, List<Long> processed) {
+        Set<Long> done = new HashSet<>(processed);
+        return new BulkOperationResult(
+                requested.stream().filter(done::contains).toList(),
+                requested.stream().filter(id -> !done.contains(id)).toList());
     }
 }
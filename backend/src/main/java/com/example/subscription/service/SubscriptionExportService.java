@@ -0,0 +1,182 @@
+package com.example.subscription.service;
+
+import com.example.subscription.dto.SubscriptionExportRow;
+import com.example.subscription.model.Subscription;
+import com.example.subscription.model.SubscriptionStatus;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Streams the history view to an output stream as CSV or NDJSON. Rows are read through a JDBC
+ * cursor with a bounded fetch size and the persistence context is cleared as rows are written, so
+ * memory use does not depend on how many rows are exported.
+ */
+@Service
+public class SubscriptionExportService {
+
+    private static final int CLEAR_EVERY_ROWS = 500;
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        public static Format parse(String value) {
+            try {
+                return Format.valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported export format: " + value);
+            }
+        }
+    }
+
+    private final SubscriptionService subscriptionService;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int fetchSize;
+
+    public SubscriptionExportService(
+            SubscriptionService subscriptionService,
+            EntityManager entityManager,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.export.fetch-size:500}") int fetchSize) {
+        this.subscriptionService = subscriptionService;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.fetchSize = fetchSize;
+    }
+
+    public void exportHistory(
+            Integer year,
+            Integer month,
+            LocalDate exactDate,
+            String search,
+            SubscriptionStatus status,
+            BigDecimal amount,
+            String deletedTarget,
+            Format format,
+            OutputStream out) {
+        Specification<Subscription> spec = subscriptionService.historySpecification(year, month, exactDate, search, status, amount, deletedTarget);
+        readOnlyTransaction.executeWithoutResult(tx -> {
+            try (Stream<Subscription> rows = stream(spec)) {
+                if (format == Format.CSV) {
+                    writeCsv(rows.iterator(), out);
+                } else {
+                    writeNdjson(rows.iterator(), out);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private Stream<Subscription> stream(Specification<Subscription> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Subscription> query = cb.createQuery(Subscription.class);
+        Root<Subscription> root = query.from(Subscription.class);
+        query.select(root)
+                .where(spec.toPredicate(root, query, cb))
+                .orderBy(cb.desc(root.get("startDate")), cb.desc(root.get("id")));
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private void writeCsv(Iterator<Subscription> rows, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writeCsvLine(writer, SubscriptionExportRow.CSV_HEADER);
+        int written = 0;
+        while (rows.hasNext()) {
+            writeCsvLine(writer, SubscriptionExportRow.of(rows.next()).csvValues());
+            written = afterRow(written);
+        }
+        writer.flush();
+    }
+
+    private void writeNdjson(Iterator<Subscription> rows, OutputStream out) throws IOException {
+        OutputStream buffered = new BufferedOutputStream(out);
+        ObjectWriter rowWriter = objectMapper.writerFor(SubscriptionExportRow.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        int written = 0;
+        while (rows.hasNext()) {
+            rowWriter.writeValue(buffered, SubscriptionExportRow.of(rows.next()));
+            buffered.write('\n');
+            written = afterRow(written);
+        }
+        buffered.flush();
+    }
+
+    /** Detaches exported entities regularly so the persistence context does not grow with the export. */
+    private int afterRow(int written) {
+        int count = written + 1;
+        if (count % CLEAR_EVERY_ROWS == 0) {
+            entityManager.clear();
+        }
+        return count;
+    }
+
+    private static void writeCsvLine(Writer writer, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csvField(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    private static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -1,19 +1,27 @@
 package com.example.subscription.service;
 
+import com.example.subscription.dto.CursorPage;
 import com.example.subscription.dto.SubscriptionRequest;
+import com.example.subscription.dto.SubscriptionView;
 import com.example.subscription.model.Subscriber;
 import com.example.subscription.model.Subscription;
 import com.example.subscription.model.SubscriptionStatus;
 import com.example.subscription.repository.SubscriberRepository;
 import com.example.subscription.repository.SubscriptionRepository;
-import java.util.Comparator;
+import com.example.subscription.repository.SubscriptionSpecifications;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.math.BigDecimal;
-import java.time.temporal.ChronoUnit;
+import java.time.temporal.ChronoField;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.Function;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,11 +29,18 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class SubscriptionService {
 
-    private static final long RENEWAL_REQUIRED_THRESHOLD_DAYS = 7;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_INDEXED_SEARCH_IDS = 1000;
+    private static final Sort LIST_ORDER = Sort.by("endDate", "id");
+    private static final Sort HISTORY_ORDER = Sort.by(Sort.Direction.DESC, "startDate", "id");
 
     private final SubscriptionRepository subscriptionRepository;
     private final SubscriberRepository subscriberRepository;
     private final AdminPinService adminPinService;
+    private final SubscriberSearchIndex subscriberSearchIndex;
+    private final StatsService statsService;
+    private final MonthlyRollupService monthlyRollupService;
+    private final ExpiryCalendar expiryCalendar;
 
     @Transactional
     public Subscription create(SubscriptionRequest request) {
@@ -33,37 +48,39 @@ public class SubscriptionService {
                 .findByIdAndDeletedFalse(request.subscriberId())
                 .orElseThrow(() -> new IllegalArgumentException("Subscriber not found"));
 
+        MonthlyRollupService.Snapshot before = monthlyRollupService.snapshot(List.of(), List.of(subscriber.getId()));
+
         Subscription subscription = new Subscription();
         subscription.setSubscriber(subscriber);
         subscription.setAmount(request.amount());
         subscription.setStartDate(request.startDate());
         subscription.setEndDate(request.endDate());
         subscription.setStatus(resolveStatus(request.endDate(), LocalDate.now()));
-        return subscriptionRepository.save(subscription);
+        Subscription saved = subscriptionRepository.save(subscription);
+        monthlyRollupService.apply(before, List.of(saved));
+        expiryCalendar.put(saved);
+        statsService.invalidate();
+        return saved;
+    }
+
+    public List<SubscriptionView> listFiltered(LocalDate startDate, LocalDate endDate, SubscriptionStatus status, Long subscriberId, String search) {
+        return subscriptionRepository.findViews(listSpecification(startDate, endDate, status, subscriberId, search), Sort.unsorted(), 0);
     }
 
-    public List<Subscription> listFiltered(LocalDate startDate, LocalDate endDate, SubscriptionStatus status, Long subscriberId, String search) {
-        List<Subscription> all = subscriptionRepository.findAllByDeletedFalseAndSubscriberDeletedFalse();
-
-        return all.stream()
-            .peek(this::applyResolvedStatus)
-                .filter(s -> startDate == null || !s.getStartDate().isBefore(startDate))
-                .filter(s -> endDate == null || !s.getEndDate().isAfter(endDate))
-                .filter(s -> status == null || s.getStatus() == status)
-                .filter(s -> subscriberId == null || (s.getSubscriber() != null && subscriberId.equals(s.getSubscriber().getId())))
-                .filter(s -> {
-                    if (search == null || search.isBlank() || s.getSubscriber() == null) {
-                        return true;
-                    }
-                    String q = search.toLowerCase();
-                    String candidate = (s.getSubscriber().getFirstName() + " "
-                            + s.getSubscriber().getLastName() + " "
-                            + s.getSubscriber().getEmail() + " "
-                            + (s.getSubscriber().getCode() == null ? "" : s.getSubscriber().getCode()))
-                            .toLowerCase();
-                    return candidate.contains(q);
-                })
-                .collect(Collectors.toList());
+    public CursorPage<SubscriptionView> listPage(
+            LocalDate startDate,
+            LocalDate endDate,
+            SubscriptionStatus status,
+            Long subscriberId,
+            String search,
+            String cursor,
+            int limit) {
+        Specification<Subscription> spec = listSpecification(startDate, endDate, status, subscriberId, search);
+        if (cursor != null && !cursor.isBlank()) {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            spec = spec.and(SubscriptionSpecifications.endDateAfter(position.date(), position.id()));
+        }
+        return fetchPage(spec, LIST_ORDER, limit, SubscriptionView::endDate);
     }
 
     public List<Subscription> findEndingBetween(LocalDate from, LocalDate to) {
@@ -80,12 +97,20 @@ public class SubscriptionService {
             .findByIdAndDeletedFalse(request.subscriberId())
                 .orElseThrow(() -> new IllegalArgumentException("Subscriber not found"));
 
+        Set<Long> affectedSubscribers = new HashSet<>(subscriberIdOf(subscription));
+        affectedSubscribers.add(subscriber.getId());
+        MonthlyRollupService.Snapshot before = monthlyRollupService.snapshot(List.of(subscription), affectedSubscribers);
+
         subscription.setSubscriber(subscriber);
         subscription.setAmount(request.amount());
         subscription.setStartDate(request.startDate());
         subscription.setEndDate(request.endDate());
         subscription.setStatus(resolveStatus(request.endDate(), LocalDate.now()));
-        return subscriptionRepository.save(subscription);
+        Subscription saved = subscriptionRepository.save(subscription);
+        monthlyRollupService.apply(before, List.of(saved));
+        expiryCalendar.put(saved);
+        statsService.invalidate();
+        return saved;
     }
 
     @Transactional
@@ -93,9 +118,13 @@ public class SubscriptionService {
         Subscription subscription = subscriptionRepository
                 .findByIdAndDeletedFalse(id)
                 .orElseThrow(() -> new IllegalArgumentException("Subscription not found"));
+        MonthlyRollupService.Snapshot before = monthlyRollupService.snapshot(List.of(subscription), subscriberIdOf(subscription));
         subscription.setDeleted(true);
         subscription.setDeletedAt(LocalDateTime.now());
         subscriptionRepository.save(subscription);
+        monthlyRollupService.apply(before, List.of(subscription));
+        expiryCalendar.put(subscription);
+        statsService.invalidate();
     }
 
     @Transactional
@@ -105,10 +134,14 @@ public class SubscriptionService {
         Subscription subscription = subscriptionRepository
                 .findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Subscription not found"));
+        MonthlyRollupService.Snapshot before = monthlyRollupService.snapshot(List.of(subscription), subscriberIdOf(subscription));
         subscriptionRepository.delete(subscription);
+        monthlyRollupService.apply(before, List.of());
+        expiryCalendar.evict(id);
+        statsService.invalidate();
     }
 
-    public List<Subscription> history(
+    public List<SubscriptionView> history(
             Integer year,
             Integer month,
             LocalDate exactDate,
@@ -116,81 +149,107 @@ public class SubscriptionService {
             SubscriptionStatus status,
             BigDecimal amount,
             String deletedTarget) {
-        String normalizedDeletedTarget = deletedTarget == null ? "" : deletedTarget.trim().toUpperCase();
-        List<Subscription> source = normalizedDeletedTarget.isBlank()
-            ? subscriptionRepository.findAllByDeletedFalseAndSubscriberDeletedFalse()
-            : subscriptionRepository.findAll();
-
-        return source.stream()
-            .peek(this::applyResolvedStatus)
-                .filter(s -> {
-                    LocalDate date = s.getStartDate();
-                    if (date == null) return false;
-
-                    if (exactDate != null) {
-                        return date.equals(exactDate);
-                    }
-
-                    if (year != null && date.getYear() != year) {
-                        return false;
-                    }
-
-                    if (month != null && date.getMonthValue() != month) {
-                        return false;
-                    }
-
-                    return true;
-                })
-                .filter(s -> {
-                    if (search == null || search.isBlank() || s.getSubscriber() == null) {
-                        return true;
-                    }
-                    String q = search.toLowerCase();
-                    String candidate = (s.getSubscriber().getFirstName() + " "
-                            + s.getSubscriber().getLastName() + " "
-                            + s.getSubscriber().getEmail() + " "
-                            + (s.getSubscriber().getCode() == null ? "" : s.getSubscriber().getCode()))
-                            .toLowerCase();
-                    return candidate.contains(q);
-                })
-                .filter(s -> status == null || s.getStatus() == status)
-                .filter(s -> amount == null || (s.getAmount() != null && s.getAmount().compareTo(amount) == 0))
-                .filter(s -> matchesDeletedTarget(s, normalizedDeletedTarget))
-                .sorted(Comparator.comparing(Subscription::getStartDate).reversed())
-                .collect(Collectors.toList());
+        return subscriptionRepository.findViews(
+                historySpecification(year, month, exactDate, search, status, amount, deletedTarget),
+                HISTORY_ORDER,
+                0);
     }
 
-    private boolean matchesDeletedTarget(Subscription subscription, String deletedTarget) {
-        String value = deletedTarget == null ? "" : deletedTarget.trim().toUpperCase();
-        boolean subscriptionDeleted = Boolean.TRUE.equals(subscription.getDeleted());
-        boolean subscriberDeleted = subscription.getSubscriber() != null && Boolean.TRUE.equals(subscription.getSubscriber().getDeleted());
-
-        return switch (value) {
-            case "SUBSCRIPTION" -> subscriptionDeleted;
-            case "SUBSCRIBER" -> subscriberDeleted;
-            case "ANY" -> subscriptionDeleted || subscriberDeleted;
-            default -> !subscriptionDeleted && !subscriberDeleted;
-        };
+    public CursorPage<SubscriptionView> historyPage(
+            Integer year,
+            Integer month,
+            LocalDate exactDate,
+            String search,
+            SubscriptionStatus status,
+            BigDecimal amount,
+            String deletedTarget,
+            String cursor,
+            int limit) {
+        Specification<Subscription> spec = historySpecification(year, month, exactDate, search, status, amount, deletedTarget);
+        if (cursor != null && !cursor.isBlank()) {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            spec = spec.and(SubscriptionSpecifications.startDateBefore(position.date(), position.id()));
+        }
+        return fetchPage(spec, HISTORY_ORDER, limit, SubscriptionView::startDate);
     }
 
-    private void applyResolvedStatus(Subscription subscription) {
-        subscription.setStatus(resolveStatus(subscription.getEndDate(), LocalDate.now()));
+    private Specification<Subscription> listSpecification(
+            LocalDate startDate, LocalDate endDate, SubscriptionStatus status, Long subscriberId, String search) {
+        List<Long> indexed = indexedSubscriberIds(search);
+        if (indexed == null) {
+            return SubscriptionSpecifications.listFilter(startDate, endDate, status, subscriberId, search);
+        }
+        return SubscriptionSpecifications.listFilter(startDate, endDate, status, subscriberId, null)
+                .and(SubscriptionSpecifications.subscriberIn(indexed, false));
     }
 
-    private SubscriptionStatus resolveStatus(LocalDate endDate, LocalDate referenceDate) {
-        if (endDate == null) {
-            return SubscriptionStatus.ACTIVE;
+    Specification<Subscription> historySpecification(
+            Integer year,
+            Integer month,
+            LocalDate exactDate,
+            String search,
+            SubscriptionStatus status,
+            BigDecimal amount,
+            String deletedTarget) {
+        if (month != null && !ChronoField.MONTH_OF_YEAR.range().isValidIntValue(month)) {
+            throw new IllegalArgumentException("month must be between 1 and 12");
+        }
+        if (year != null && !ChronoField.YEAR.range().isValidIntValue(year)) {
+            throw new IllegalArgumentException("Invalid year: " + year);
         }
+        List<Long> indexed = indexedSubscriberIds(search);
+        if (indexed == null) {
+            return SubscriptionSpecifications.historyFilter(year, month, exactDate, search, status, amount, deletedTarget);
+        }
+        return SubscriptionSpecifications.historyFilter(year, month, exactDate, null, status, amount, deletedTarget)
+                .and(SubscriptionSpecifications.subscriberIn(indexed, true));
+    }
 
-        long daysUntilEnd = ChronoUnit.DAYS.between(referenceDate, endDate);
-        if (daysUntilEnd < 0) {
-            return SubscriptionStatus.EXPIRED;
+    /**
+     * Subscriber IDs matching {@code search} from the in-memory index, or null when the SQL search
+     * predicate should be used instead: no search, index unavailable, or too many matches for an
+     * IN list to beat the LIKE.
+     */
+    private List<Long> indexedSubscriberIds(String search) {
+        if (search == null || search.isBlank() || !subscriberSearchIndex.isReady()) {
+            return null;
         }
+        long[] ids = subscriberSearchIndex.search(search, true);
+        if (ids.length > MAX_INDEXED_SEARCH_IDS) {
+            return null;
+        }
+        return Arrays.stream(ids).boxed().toList();
+    }
 
-        if (daysUntilEnd <= RENEWAL_REQUIRED_THRESHOLD_DAYS) {
-            return SubscriptionStatus.RENEWAL_REQUIRED;
+    /**
+     * Reads one row past the page size to learn whether another page exists, so no count query is
+     * needed and each page costs the same regardless of its depth.
+     */
+    private CursorPage<SubscriptionView> fetchPage(
+            Specification<Subscription> spec,
+            Sort order,
+            int limit,
+            Function<SubscriptionView, LocalDate> sortKey) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<SubscriptionView> rows = subscriptionRepository.findViews(spec, order, pageSize + 1);
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = new ArrayList<>(rows.subList(0, pageSize));
+            SubscriptionView last = rows.get(pageSize - 1);
+            nextCursor = new KeysetCursor(sortKey.apply(last), last.id()).encode();
         }
+        return new CursorPage<>(rows, nextCursor, pageSize);
+    }
+
+    private List<Long> subscriberIdOf(Subscription subscription) {
+        return subscription.getSubscriber() == null ? List.of() : List.of(subscription.getSubscriber().getId());
+    }
 
-        return SubscriptionStatus.ACTIVE;
+    private SubscriptionStatus resolveStatus(LocalDate endDate, LocalDate referenceDate) {
+        if (endDate == null) {
+            return SubscriptionStatus.ACTIVE;
+        }
+        return SubscriptionStatus.of(endDate, referenceDate);
     }
 }
@@ -0,0 +1,54 @@
+package com.example.subscription.service;
+
+import com.example.subscription.model.SubscriptionStatus;
+import com.example.subscription.repository.SubscriptionRepository;
+import java.time.LocalDate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Keeps the stored subscription status in line with endDate, so reads and status filters can rely
+ * on the column instead of recomputing it per row. Runs at midnight and once at startup to catch up
+ * on days the application was down.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class SubscriptionStatusJob {
+
+    private final SubscriptionRepository subscriptionRepository;
+    private final StatsService statsService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void catchUp() {
+        refresh(LocalDate.now());
+    }
+
+    @Scheduled(cron = "${app.subscriptions.status-cron:0 0 0 * * *}")
+    @Transactional
+    public void nightly() {
+        refresh(LocalDate.now());
+    }
+
+    @Transactional
+    public int refresh(LocalDate today) {
+        LocalDate renewalLimit = today.plusDays(SubscriptionStatus.RENEWAL_REQUIRED_THRESHOLD_DAYS);
+
+        int expired = subscriptionRepository.updateStatusEndingBefore(SubscriptionStatus.EXPIRED, today);
+        int renewal = subscriptionRepository.updateStatusEndingBetween(SubscriptionStatus.RENEWAL_REQUIRED, today, renewalLimit);
+        int active = subscriptionRepository.updateStatusEndingAfter(SubscriptionStatus.ACTIVE, renewalLimit);
+
+        int changed = expired + renewal + active;
+        if (changed > 0) {
+            statsService.invalidate();
+            log.info("Subscription status refresh for {}: {} expired, {} renewal required, {} active.", today, expired, renewal, active);
+        }
+        return changed;
+    }
+}
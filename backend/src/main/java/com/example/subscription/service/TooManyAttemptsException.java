@@ -0,0 +1,9 @@
+package com.example.subscription.service;
+
+/** A client went over its attempt budget for the current window. */
+public class TooManyAttemptsException extends RuntimeException {
+
+    public TooManyAttemptsException(String message) {
+        super(message);
+    }
+}
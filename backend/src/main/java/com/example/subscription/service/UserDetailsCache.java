@@ -0,0 +1,75 @@
+package com.example.subscription.service;
+
+import com.example.subscription.dto.CacheStats;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+/**
+ * Size-bounded, TTL-based cache of {@link UserDetails} by username for the per-request JWT
+ * authentication. Entries are evicted by {@link UserService} when a user is saved. Callers get a
+ * copy so credential erasure on one request cannot blank the cached password.
+ */
+@Component
+public class UserDetailsCache {
+
+    static final String NAME = "userDetails";
+
+    private final long ttlMs;
+    private final int maxSize;
+    private final Map<String, CachedUser> cache = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public UserDetailsCache(
+            @Value("${app.auth.user-cache.ttl-ms:300000}") long ttlMs,
+            @Value("${app.auth.user-cache.max-size:1000}") int maxSize) {
+        this.ttlMs = ttlMs;
+        this.maxSize = Math.max(1, maxSize);
+    }
+
+    public UserDetails get(String username, Function<String, UserDetails> loader) {
+        long now = System.currentTimeMillis();
+        CachedUser cached = cache.get(username);
+        if (cached != null && cached.expiresAt() > now) {
+            hits.incrementAndGet();
+            return User.withUserDetails(cached.user()).build();
+        }
+
+        misses.incrementAndGet();
+        UserDetails loaded = loader.apply(username);
+        cache.put(username, new CachedUser(User.withUserDetails(loaded).build(), now + ttlMs));
+        if (cache.size() > maxSize) {
+            trim(now);
+        }
+        return loaded;
+    }
+
+    /** Drops {@code username} once the current transaction commits. */
+    public void evict(String username) {
+        AfterCommit.run(() -> cache.remove(username));
+    }
+
+    public CacheStats stats() {
+        return CacheStats.of(NAME, cache.size(), maxSize, hits.get(), misses.get());
+    }
+
+    private void trim(long now) {
+        cache.values().removeIf(entry -> entry.expiresAt() <= now);
+        while (cache.size() > maxSize) {
+            cache.entrySet().stream()
+                    .min(Comparator.comparingLong(entry -> entry.getValue().expiresAt()))
+                    .ifPresent(oldest -> cache.remove(oldest.getKey(), oldest.getValue()));
+        }
+    }
+
+    private record CachedUser(UserDetails user, long expiresAt) {
+    }
+}
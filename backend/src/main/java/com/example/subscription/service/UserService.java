@@ -2,6 +2,7 @@ package com.example.subscription.service;
 
 import com.example.subscription.dto.AuthRequest;
 import com.example.subscription.dto.AuthResponse;
+import com.example.subscription.dto.CacheStats;
 import com.example.subscription.model.AppUser;
 import com.example.subscription.repository.AppUserRepository;
 import lombok.RequiredArgsConstructor;
@@ -10,7 +11,7 @@ import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -19,9 +20,17 @@ public class UserService implements UserDetailsService {
 
     private final AppUserRepository appUserRepository;
     private final JwtService jwtService;
+    private final UserDetailsCache userDetailsCache;
+    private final PasswordEncoder passwordEncoder;
+    private final PasswordVerifier passwordVerifier;
+    private final LoginThrottle loginThrottle;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        return userDetailsCache.get(username, this::loadFromDatabase);
+    }
+
+    private UserDetails loadFromDatabase(String username) {
         AppUser user = appUserRepository
                 .findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
@@ -32,25 +41,34 @@ public class UserService implements UserDetailsService {
                 .build();
     }
 
-    public AuthResponse authenticate(AuthRequest request) {
-        AppUser user = appUserRepository
-                .findByUsername(request.username())
-                .orElseThrow(() -> new BadCredentialsException("Invalid credentials"));
+    public AuthResponse authenticate(AuthRequest request, String clientIp) {
+        loginThrottle.acquire(request.username(), clientIp);
 
-        boolean validPassword = new BCryptPasswordEncoder().matches(request.password(), user.getPassword());
-        if (!validPassword) {
+        AppUser user = appUserRepository.findByUsername(request.username()).orElse(null);
+        boolean matches = user == null
+                ? passwordVerifier.matchesUnknownUser(request.password())
+                : passwordVerifier.matches(request.password(), user.getPassword());
+        if (!matches) {
+            loginThrottle.recordFailure(request.username(), clientIp);
             throw new BadCredentialsException("Invalid credentials");
         }
+        loginThrottle.recordSuccess(request.username(), clientIp);
 
         String token = jwtService.generateToken(request.username());
         return new AuthResponse(token, request.username());
     }
 
+    public CacheStats userDetailsCacheStats() {
+        return userDetailsCache.stats();
+    }
+
     public AppUser save(String username, String password, AppUser.Role role) {
         AppUser user = new AppUser();
         user.setUsername(username);
-        user.setPassword(new BCryptPasswordEncoder().encode(password));
+        user.setPassword(passwordEncoder.encode(password));
         user.setRole(role);
-        return appUserRepository.save(user);
+        AppUser saved = appUserRepository.save(user);
+        userDetailsCache.evict(username);
+        return saved;
     }
 }
@@ -0,0 +1,92 @@
+package com.example.subscription.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.subscription.dto.SubscriberRequest;
+import com.example.subscription.service.SubscriberService;
+import com.example.subscription.service.SubscriptionService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@Transactional
+class ServiceMetricsAspectTests {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SubscriberService subscriberService;
+
+    @Autowired
+    private SubscriptionService subscriptionService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void recordsLatencyAndResultSize() {
+        subscriberService.create(new SubscriberRequest("Meter", "Reading", "meter.reading@example.org", null));
+        long before = successCount("SubscriberService", "list");
+
+        int size = subscriberService.list(null).size();
+
+        assertThat(successCount("SubscriberService", "list")).isEqualTo(before + 1);
+        assertThat(meterRegistry.get("app.service.result.size")
+                .tags("class", "SubscriberService", "method", "list")
+                .summary()
+                .max()).isEqualTo(size);
+    }
+
+    @Test
+    void countsErrorsByException() {
+        double before = errors("SubscriptionService", "delete", "IllegalArgumentException");
+
+        assertThatThrownBy(() -> subscriptionService.delete(-1L)).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(errors("SubscriptionService", "delete", "IllegalArgumentException")).isEqualTo(before + 1);
+        assertThat(meterRegistry.get("app.service")
+                .tags("class", "SubscriptionService", "method", "delete", "outcome", "error")
+                .timer()
+                .count()).isPositive();
+    }
+
+    @Test
+    void prometheusEndpointExposesServicePoolAndHibernateMetrics() throws Exception {
+        subscriberService.list(null);
+
+        String body = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThat(body)
+                .contains("app_service_seconds_bucket")
+                .contains("hikaricp_connections")
+                .contains("hibernate_statements");
+    }
+
+    private long successCount(String type, String method) {
+        Timer timer = meterRegistry.find("app.service").tags("class", type, "method", method, "outcome", "success").timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private double errors(String type, String method, String exception) {
+        Counter counter = meterRegistry.find("app.service.errors").tags("class", type, "method", method, "exception", exception).counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
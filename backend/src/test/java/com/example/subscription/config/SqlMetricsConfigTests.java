@@ -0,0 +1,39 @@
+package com.example.subscription.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+class SqlMetricsConfigTests {
+
+    @Test
+    void rowsReadAreOnlyCountedWhenEnabled() throws Exception {
+        assertThat(rowsCounted(new MockEnvironment())).isZero();
+        assertThat(rowsCounted(new MockEnvironment().withProperty("app.sql-metrics.count-rows", "true"))).isEqualTo(3);
+    }
+
+    private static long rowsCounted(MockEnvironment environment) throws Exception {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:sql-metrics");
+        DataSource dataSource = (DataSource) SqlMetricsConfig.sqlStatisticsDataSourceProxy(environment)
+                .postProcessAfterInitialization(h2, "dataSource");
+
+        SqlRequestStats.begin();
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement();
+                ResultSet rows = statement.executeQuery("SELECT X FROM SYSTEM_RANGE(1, 3)")) {
+            while (rows.next()) {
+                assertThat(rows.getLong(1)).isPositive();
+            }
+        }
+        SqlRequestStats stats = SqlRequestStats.end();
+        assertThat(stats.statements()).isEqualTo(1);
+        return stats.rows();
+    }
+}
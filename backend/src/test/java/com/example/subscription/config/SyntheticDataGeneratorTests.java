@@ -0,0 +1,132 @@
+package com.example.subscription.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.subscription.model.Subscriber;
+import com.example.subscription.repository.SubscriberRepository;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@SpringBootTest
+class SyntheticDataGeneratorTests {
+
+    private static final LocalDate REFERENCE_DATE = LocalDate.of(2030, 6, 15);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private SubscriberRepository subscriberRepository;
+
+    private SyntheticDataGenerator.Result generated;
+
+    @AfterEach
+    void cleanUp() {
+        if (generated != null) {
+            remove(generated);
+        }
+        jdbcTemplate.update("DELETE FROM subscribers WHERE email LIKE 'after.synthetic.%@example.org'");
+    }
+
+    @Test
+    void sameSeedGivesSameRowsWhateverTheThreadCount() {
+        generated = generator(300, 7, 1, 50).generate();
+        List<Map<String, Object>> subscribersSingleThread = subscriberRows(generated);
+        List<Map<String, Object>> subscriptionsSingleThread = subscriptionRows(generated);
+        remove(generated);
+
+        generated = generator(300, 7, 4, 37).generate();
+
+        assertThat(subscriberRows(generated)).isEqualTo(subscribersSingleThread);
+        assertThat(subscriptionRows(generated)).isEqualTo(subscriptionsSingleThread);
+    }
+
+    @Test
+    void historiesSpreadOverYearsStatusesAndAmounts() {
+        generated = generator(500, 11, 4, 100).generate();
+
+        List<Map<String, Object>> subscriptions = subscriptionRows(generated);
+        assertThat(generated.subscribers()).isEqualTo(500);
+        assertThat(subscriptions).hasSize(generated.subscriptions()).hasSizeGreaterThan(500);
+        assertThat(subscriptions.stream().map(row -> row.get("STATUS")).distinct()).hasSize(3);
+        assertThat(subscriptions.stream().map(row -> ((Date) row.get("START_DATE")).toLocalDate().getYear()).distinct())
+                .hasSizeGreaterThanOrEqualTo(3);
+        assertThat(subscriptions.stream().map(row -> row.get("AMOUNT")).distinct()).hasSizeGreaterThan(3);
+    }
+
+    @Test
+    void deletedSubscribersHaveNoLiveSubscriptions() {
+        generated = generator(2000, 13, 4, 500).generate();
+
+        Integer deletedSubscribers = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM subscribers WHERE is_deleted = true AND id BETWEEN ? AND ?",
+                Integer.class, generated.firstSubscriberId(), generated.lastSubscriberId());
+        Integer liveUnderDeleted = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM subscriptions s JOIN subscribers sub ON sub.id = s.subscriber_id "
+                        + "WHERE sub.is_deleted = true AND s.is_deleted = false AND sub.id BETWEEN ? AND ?",
+                Integer.class, generated.firstSubscriberId(), generated.lastSubscriberId());
+        Integer deletedAtMismatch = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM subscriptions s JOIN subscribers sub ON sub.id = s.subscriber_id "
+                        + "WHERE sub.is_deleted = true AND s.deleted_at > sub.deleted_at AND sub.id BETWEEN ? AND ?",
+                Integer.class, generated.firstSubscriberId(), generated.lastSubscriberId());
+
+        assertThat(deletedSubscribers).isPositive();
+        assertThat(liveUnderDeleted).isZero();
+        assertThat(deletedAtMismatch).isZero();
+    }
+
+    @Test
+    void applicationInsertsDoNotCollideWithGeneratedIds() {
+        generated = generator(120, 3, 2, 50).generate();
+
+        // more than one allocation block, so the sequence is read again after generation
+        List<Subscriber> subscribers = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            Subscriber subscriber = new Subscriber();
+            subscriber.setFirstName("After");
+            subscriber.setLastName("Synthetic");
+            subscriber.setEmail("after.synthetic." + i + "@example.org");
+            subscribers.add(subscriber);
+        }
+        List<Subscriber> saved = subscriberRepository.saveAll(subscribers);
+
+        assertThat(saved).extracting(Subscriber::getId)
+                .noneMatch(id -> id >= generated.firstSubscriberId() && id <= generated.lastSubscriberId());
+    }
+
+    private SyntheticDataGenerator generator(int subscribers, long seed, int threads, int batchSize) {
+        return new SyntheticDataGenerator(jdbcTemplate, transactionManager, subscribers, seed, 5, threads, batchSize, REFERENCE_DATE);
+    }
+
+    private List<Map<String, Object>> subscriberRows(SyntheticDataGenerator.Result result) {
+        return jdbcTemplate.queryForList(
+                "SELECT code, first_name, last_name, email, phone, created_at, is_deleted FROM subscribers "
+                        + "WHERE id BETWEEN ? AND ? ORDER BY code",
+                result.firstSubscriberId(), result.lastSubscriberId());
+    }
+
+    private List<Map<String, Object>> subscriptionRows(SyntheticDataGenerator.Result result) {
+        return jdbcTemplate.queryForList(
+                "SELECT sub.code, s.start_date, s.end_date, s.amount, s.status, s.is_deleted FROM subscriptions s "
+                        + "JOIN subscribers sub ON sub.id = s.subscriber_id "
+                        + "WHERE sub.id BETWEEN ? AND ? ORDER BY sub.code, s.start_date",
+                result.firstSubscriberId(), result.lastSubscriberId());
+    }
+
+    private void remove(SyntheticDataGenerator.Result result) {
+        jdbcTemplate.update("DELETE FROM subscriptions WHERE subscriber_id BETWEEN ? AND ?", result.firstSubscriberId(), result.lastSubscriberId());
+        jdbcTemplate.update("DELETE FROM subscribers WHERE id BETWEEN ? AND ?", result.firstSubscriberId(), result.lastSubscriberId());
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.subscription.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.subscription.dto.AuthRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.forward-headers-strategy=native",
+        "server.tomcat.remoteip.internal-proxies=127\\.0\\.0\\.1|0:0:0:0:0:0:0:1",
+        "app.auth.login.max-attempts-per-ip=2"
+})
+class AuthControllerTests {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void loginBudgetIsPerForwardedClientBehindATrustedProxy() {
+        assertThat(login("203.0.113.10")).isEqualTo(HttpStatus.OK);
+        assertThat(login("203.0.113.10")).isEqualTo(HttpStatus.OK);
+        assertThat(login("203.0.113.10")).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+
+        assertThat(login("203.0.113.11")).isEqualTo(HttpStatus.OK);
+        // an address the client sent ahead of the one the proxy appended is not trusted
+        assertThat(login("198.51.100.1, 203.0.113.10")).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    private HttpStatusCode login(String forwardedFor) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Forwarded-For", forwardedFor);
+        return restTemplate.postForEntity("/api/auth/login", new HttpEntity<>(new AuthRequest("admin", "admin123"), headers), String.class)
+                .getStatusCode();
+    }
+}
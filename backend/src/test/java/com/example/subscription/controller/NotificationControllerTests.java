@@ -0,0 +1,102 @@
+package com.example.subscription.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.subscription.dto.SubscriberRequest;
+import com.example.subscription.dto.SubscriptionRequest;
+import com.example.subscription.model.Subscriber;
+import com.example.subscription.model.Subscription;
+import com.example.subscription.service.NotificationStream;
+import com.example.subscription.service.SubscriberService;
+import com.example.subscription.service.SubscriptionService;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+@SpringBootTest(properties = {
+        "app.notifications.stream.max-clients=3",
+        "app.notifications.stream.heartbeat-ms=200"
+})
+// the sender pool writes heartbeats while a result may still be printed, so nothing is printed
+@AutoConfigureMockMvc(print = MockMvcPrint.NONE)
+@WithMockUser
+class NotificationControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private NotificationStream notificationStream;
+
+    @Autowired
+    private SubscriberService subscriberService;
+
+    @Autowired
+    private SubscriptionService subscriptionService;
+
+    private final List<MvcResult> streams = new ArrayList<>();
+
+    @AfterEach
+    void closeStreams() {
+        streams.forEach(stream -> stream.getRequest().getAsyncContext().complete());
+        streams.clear();
+    }
+
+    @Test
+    void streamPushesSnapshotChangesAndHeartbeats() throws Exception {
+        MvcResult stream = open();
+        awaitContent(stream, "event:snapshot");
+
+        Subscriber subscriber = subscriberService.create(new SubscriberRequest("Sara", "Stream", "sara.stream@example.org", null));
+        try {
+            Subscription subscription = subscriptionService.create(new SubscriptionRequest(
+                    LocalDate.now().minusMonths(1), LocalDate.now().plusDays(3), new BigDecimal("25.00"), subscriber.getId(), null));
+            awaitContent(stream, "\"subscriptionId\":" + subscription.getId());
+            assertThat(stream.getResponse().getContentAsString()).contains("event:change", "\"status\":\"RENEWAL_REQUIRED\"");
+
+            subscriptionService.delete(subscription.getId());
+            awaitContent(stream, "\"removed\":[" + subscription.getId() + "]");
+            awaitContent(stream, ":heartbeat");
+        } finally {
+            subscriberService.purge(subscriber.getId(), "000000");
+        }
+    }
+
+    @Test
+    void refusesStreamsBeyondTheCap() throws Exception {
+        while (notificationStream.clientCount() < 3) {
+            open();
+        }
+
+        mockMvc.perform(get("/api/notifications/stream")).andExpect(status().isServiceUnavailable());
+    }
+
+    private MvcResult open() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/notifications/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        streams.add(result);
+        return result;
+    }
+
+    private static void awaitContent(MvcResult stream, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!stream.getResponse().getContentAsString().contains(expected)) {
+            assertThat(System.currentTimeMillis()).as("waiting for %s", expected).isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.subscription.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.subscription.model.Subscriber;
+import com.example.subscription.model.Subscription;
+import com.example.subscription.repository.SubscriberRepository;
+import com.example.subscription.repository.SubscriptionRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@WithMockUser
+class SubscriberControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SubscriberRepository subscriberRepository;
+
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Value("${app.sql.statement-budget}")
+    private int statementBudget;
+
+    @Test
+    void listIssuesOneStatementWhateverTheNumberOfSubscribers() throws Exception {
+        seed(3);
+        long few = statements("SubscriberController.list", get("/api/subscribers"));
+        seed(50);
+        long many = statements("SubscriberController.list", get("/api/subscribers"));
+
+        assertThat(few).isEqualTo(1);
+        assertThat(many).isEqualTo(few);
+    }
+
+    @Test
+    void bulkDeleteCostDoesNotGrowWithTheNumberOfSubscribers() throws Exception {
+        long few = statements("SubscriberController.deleteAll", bulkDelete(seed(2)));
+        long many = statements("SubscriberController.deleteAll", bulkDelete(seed(40)));
+
+        // the first call may also create the rollup rows of the touched months
+        assertThat(many).isLessThanOrEqualTo(few);
+        assertThat(few).isLessThanOrEqualTo(statementBudget);
+    }
+
+    @Test
+    void createStaysWithinTheStatementBudget() throws Exception {
+        String body = """
+                {"firstName":"Budget","lastName":"Check","email":"budget.check@example.org"}
+                """;
+
+        long created = statements("SubscriberController.create",
+                post("/api/subscribers").contentType(MediaType.APPLICATION_JSON).content(body));
+
+        assertThat(created).isLessThanOrEqualTo(statementBudget);
+    }
+
+    private RequestBuilder bulkDelete(List<Subscriber> subscribers) {
+        String ids = subscribers.stream().map(subscriber -> subscriber.getId().toString()).collect(Collectors.joining(","));
+        return post("/api/subscribers/bulk-delete").contentType(MediaType.APPLICATION_JSON).content("{\"ids\":[" + ids + "]}");
+    }
+
+    private List<Subscriber> seed(int count) {
+        List<Subscriber> subscribers = new ArrayList<>();
+        List<Subscription> subscriptions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Subscriber subscriber = new Subscriber();
+            subscriber.setFirstName("Query");
+            subscriber.setLastName("Count");
+            subscriber.setEmail("subscriber.count" + System.nanoTime() + "." + i + "@example.org");
+            subscribers.add(subscriber);
+
+            Subscription subscription = new Subscription();
+            subscription.setSubscriber(subscriber);
+            subscription.setStartDate(LocalDate.of(2030, 1, 1));
+            subscription.setEndDate(LocalDate.of(2030, 6, 1));
+            subscription.setAmount(new BigDecimal("10.00"));
+            subscriptions.add(subscription);
+        }
+        subscriberRepository.saveAll(subscribers);
+        subscriptionRepository.saveAll(subscriptions);
+        entityManager.flush();
+        entityManager.clear();
+        return subscribers;
+    }
+
+    private long statements(String handler, RequestBuilder request) throws Exception {
+        double before = totalStatements(handler);
+        mockMvc.perform(request).andExpect(status().is2xxSuccessful());
+        return Math.round(totalStatements(handler) - before);
+    }
+
+    private double totalStatements(String handler) {
+        DistributionSummary summary = meterRegistry.find("app.sql.statements").tag("handler", handler).summary();
+        return summary == null ? 0 : summary.totalAmount();
+    }
+}
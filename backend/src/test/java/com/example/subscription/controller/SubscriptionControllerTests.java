@@ -0,0 +1,139 @@
+package com.example.subscription.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.subscription.model.Subscriber;
+import com.example.subscription.model.Subscription;
+import com.example.subscription.repository.SubscriberRepository;
+import com.example.subscription.repository.SubscriptionRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@WithMockUser
+class SubscriptionControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SubscriberRepository subscriberRepository;
+
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Value("${app.sql.statement-budget}")
+    private int statementBudget;
+
+    @Test
+    void listIssuesOneStatementWhateverTheNumberOfSubscribers() throws Exception {
+        seed(2);
+        long few = statements("SubscriptionController.list", get("/api/subscriptions"));
+        seed(40);
+        long many = statements("SubscriptionController.list", get("/api/subscriptions"));
+
+        assertThat(few).isEqualTo(1);
+        assertThat(many).isEqualTo(few);
+    }
+
+    @Test
+    void historyPagesIssueOneStatementPerPage() throws Exception {
+        seed(30);
+
+        assertThat(statements("SubscriptionController.history", get("/api/subscriptions/history").param("deletedTarget", "ANY")))
+                .isEqualTo(1);
+        assertThat(statements("SubscriptionController.historyPage", get("/api/subscriptions/history").param("limit", "10")))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void createStaysWithinTheStatementBudget() throws Exception {
+        Subscriber subscriber = seed(1).get(0);
+        String body = """
+                {"startDate":"2031-01-01","endDate":"2031-06-30","amount":25.00,"subscriberId":%d}
+                """.formatted(subscriber.getId());
+
+        long created = statements("SubscriptionController.create",
+                post("/api/subscriptions").contentType(MediaType.APPLICATION_JSON).content(body));
+
+        assertThat(created).isLessThanOrEqualTo(statementBudget);
+    }
+
+    @Test
+    void historyRejectsAnInvalidMonth() throws Exception {
+        mockMvc.perform(get("/api/subscriptions/history").param("year", "2030").param("month", "13"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/subscriptions/history").param("month", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/subscriptions/history").param("year", "2030").param("month", "12"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void malformedCursorIsABadRequest() throws Exception {
+        mockMvc.perform(get("/api/subscriptions").param("limit", "10").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private List<Subscriber> seed(int count) {
+        List<Subscriber> subscribers = new ArrayList<>();
+        List<Subscription> subscriptions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Subscriber subscriber = new Subscriber();
+            subscriber.setFirstName("Query");
+            subscriber.setLastName("Count");
+            subscriber.setEmail("query.count" + System.nanoTime() + "." + i + "@example.org");
+            subscribers.add(subscriber);
+            for (int month = 1; month <= 2; month++) {
+                Subscription subscription = new Subscription();
+                subscription.setSubscriber(subscriber);
+                subscription.setStartDate(LocalDate.of(2030, month, 1));
+                subscription.setEndDate(LocalDate.of(2030, month + 6, 1));
+                subscription.setAmount(new BigDecimal("10.00"));
+                subscriptions.add(subscription);
+            }
+        }
+        subscriberRepository.saveAll(subscribers);
+        subscriptionRepository.saveAll(subscriptions);
+        entityManager.flush();
+        entityManager.clear();
+        return subscribers;
+    }
+
+    private long statements(String handler, RequestBuilder request) throws Exception {
+        double before = totalStatements(handler);
+        mockMvc.perform(request).andExpect(status().is2xxSuccessful());
+        return Math.round(totalStatements(handler) - before);
+    }
+
+    private double totalStatements(String handler) {
+        DistributionSummary summary = meterRegistry.find("app.sql.statements").tag("handler", handler).summary();
+        return summary == null ? 0 : summary.totalAmount();
+    }
+}
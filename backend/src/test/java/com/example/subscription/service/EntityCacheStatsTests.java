@@ -0,0 +1,119 @@
+package com.example.subscription.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.subscription.dto.CacheStats;
+import com.example.subscription.dto.SubscriberRequest;
+import com.example.subscription.model.Subscriber;
+import com.example.subscription.repository.SubscriberRepository;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+class EntityCacheStatsTests {
+
+    @Autowired
+    private SubscriberService subscriberService;
+
+    @Autowired
+    private SubscriberRepository subscriberRepository;
+
+    @Autowired
+    private EntityCacheStats entityCacheStats;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Long> created = new ArrayList<>();
+    private Statistics statistics;
+
+    @BeforeEach
+    void statistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void purge() {
+        List<Long> existing = subscriberRepository.findExistingIds(created);
+        if (!existing.isEmpty()) {
+            subscriberService.purgeAll(existing, "000000");
+        }
+        created.clear();
+    }
+
+    @Test
+    void repeatedReadsAreServedWithoutSql() {
+        Subscriber subscriber = create("Cache", "Hit", "cache.hit@example.org");
+        subscriberRepository.findByIdAndDeletedFalse(subscriber.getId());
+        CacheStats entityBefore = entityCacheStats.stats().get(0);
+        CacheStats queriesBefore = entityCacheStats.stats().get(1);
+        long statementsBefore = statistics.getPrepareStatementCount();
+
+        assertThat(subscriberRepository.findByIdAndDeletedFalse(subscriber.getId())).get()
+                .extracting(Subscriber::getLastName).isEqualTo("Hit");
+        assertThat(subscriberRepository.findById(subscriber.getId())).isPresent();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsBefore);
+        assertThat(entityCacheStats.stats().get(0).hits()).isGreaterThan(entityBefore.hits());
+        assertThat(entityCacheStats.stats().get(1).hits()).isEqualTo(queriesBefore.hits() + 1);
+        assertThat(entityCacheStats.stats()).extracting(CacheStats::name).containsExactly("subscribers", "subscriber-queries");
+        assertThat(entityCacheStats.stats().get(0).size()).isPositive();
+    }
+
+    @Test
+    void updatesAreVisibleThroughTheCache() {
+        Subscriber subscriber = create("Cache", "Before", "cache.update@example.org");
+        subscriberRepository.findByIdAndDeletedFalse(subscriber.getId());
+
+        subscriberService.update(subscriber.getId(), new SubscriberRequest("Cache", "After", "cache.update@example.org", null));
+
+        assertThat(subscriberRepository.findByIdAndDeletedFalse(subscriber.getId())).get()
+                .extracting(Subscriber::getLastName).isEqualTo("After");
+        assertThat(subscriberRepository.findAllByDeletedFalse()).filteredOn(row -> row.getId().equals(subscriber.getId()))
+                .extracting(Subscriber::getLastName).containsExactly("After");
+    }
+
+    @Test
+    void softDeleteInvalidatesCachedReads() {
+        Subscriber deleted = create("Cache", "Deleted", "cache.deleted@example.org");
+        Subscriber kept = create("Cache", "Kept", "cache.kept@example.org");
+        subscriberRepository.findByIdAndDeletedFalse(deleted.getId());
+        subscriberRepository.findAllByDeletedFalse();
+
+        subscriberService.delete(deleted.getId());
+
+        assertThat(subscriberRepository.findByIdAndDeletedFalse(deleted.getId())).isEmpty();
+        assertThat(subscriberRepository.findById(deleted.getId())).get().extracting(Subscriber::getDeleted).isEqualTo(true);
+        assertThat(subscriberRepository.findAllByDeletedFalse()).extracting(Subscriber::getId)
+                .contains(kept.getId())
+                .doesNotContain(deleted.getId());
+    }
+
+    @Test
+    void purgeInvalidatesCachedReads() {
+        Subscriber purged = create("Cache", "Purged", "cache.purged@example.org");
+        subscriberRepository.findById(purged.getId());
+        subscriberRepository.findByIdAndDeletedFalse(purged.getId());
+        subscriberRepository.findAllByDeletedFalse();
+
+        subscriberService.purge(purged.getId(), "000000");
+
+        assertThat(subscriberRepository.findById(purged.getId())).isEmpty();
+        assertThat(subscriberRepository.findByIdAndDeletedFalse(purged.getId())).isEmpty();
+        assertThat(subscriberRepository.findAllByDeletedFalse()).extracting(Subscriber::getId).doesNotContain(purged.getId());
+    }
+
+    private Subscriber create(String firstName, String lastName, String email) {
+        Subscriber subscriber = subscriberService.create(new SubscriberRequest(firstName, lastName, email, null));
+        created.add(subscriber.getId());
+        return subscriber;
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.subscription.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.subscription.model.Subscriber;
+import com.example.subscription.model.Subscription;
+import com.example.subscription.repository.SubscriptionRepository;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ExpiryCalendarTests {
+
+    private static final LocalDate TODAY = LocalDate.of(2030, 6, 15);
+
+    private final List<ExpiryCalendar.WindowChange> changes = new ArrayList<>();
+    private SubscriptionRepository repository;
+    private ExpiryCalendar calendar;
+
+    @BeforeEach
+    void load() {
+        repository = mock(SubscriptionRepository.class);
+        when(repository.findEndingRowsBetween(TODAY.minusDays(2), TODAY.plusDays(14))).thenReturn(List.of(
+                row(10L, 1L, TODAY.minusDays(2)),
+                row(12L, 2L, TODAY.plusDays(3)),
+                row(11L, 1L, TODAY.plusDays(3)),
+                row(13L, 3L, TODAY.plusDays(14))));
+        calendar = new ExpiryCalendar(repository, event -> changes.add((ExpiryCalendar.WindowChange) event), true);
+        calendar.load(TODAY);
+        changes.clear();
+    }
+
+    @Test
+    void returnsTheWindowOrderedByEndDateThenId() {
+        assertThat(ids(calendar.between(TODAY.minusDays(2), TODAY.plusDays(14)))).containsExactly(10L, 11L, 12L, 13L);
+        assertThat(ids(calendar.between(TODAY, TODAY.plusDays(5)))).containsExactly(11L, 12L);
+    }
+
+    @Test
+    void rangesOutsideTheLoadedWindowAreLeftToTheDatabase() {
+        assertThat(calendar.between(TODAY.minusDays(3), TODAY.plusDays(13))).isNull();
+        assertThat(calendar.between(TODAY.minusDays(1), TODAY.plusDays(15))).isNull();
+        assertThat(new ExpiryCalendar(repository, event -> { }, false).between(TODAY, TODAY)).isNull();
+    }
+
+    @Test
+    void writesMoveAndDropEntries() {
+        calendar.put(subscription(11L, subscriber(1L, "Amal", false), TODAY.plusDays(20), false));
+        calendar.put(subscription(12L, subscriber(2L, "Badr", false), TODAY.plusDays(1), false));
+        calendar.put(subscription(14L, subscriber(4L, "Dina", false), TODAY, false));
+        calendar.put(subscription(10L, subscriber(1L, "Amal", false), TODAY.minusDays(2), true));
+        calendar.evict(13L);
+
+        assertThat(ids(calendar.between(TODAY.minusDays(2), TODAY.plusDays(14)))).containsExactly(14L, 12L);
+        assertThat(calendar.size()).isEqualTo(2);
+        assertThat(changes).extracting(change -> ids(change.upserted())).containsExactly(List.of(), List.of(12L), List.of(14L), List.of(), List.of());
+        assertThat(changes).extracting(ExpiryCalendar.WindowChange::removed).containsExactly(List.of(11L), List.of(), List.of(), List.of(10L), List.of(13L));
+    }
+
+    @Test
+    void subscriberChangesApplyToTheirSubscriptions() {
+        calendar.renameSubscriber(2L, "Nour", "Alaoui");
+        calendar.evictSubscribers(List.of(1L));
+
+        List<SubscriptionRepository.EndingRow> rows = calendar.between(TODAY.minusDays(2), TODAY.plusDays(14));
+        assertThat(ids(rows)).containsExactly(12L, 13L);
+        assertThat(rows.get(0).getFirstName()).isEqualTo("Nour");
+        assertThat(rows.get(0).getLastName()).isEqualTo("Alaoui");
+    }
+
+    @Test
+    void rolloverDropsPastDaysAndLoadsOnlyTheNewOne() {
+        LocalDate tomorrow = TODAY.plusDays(1);
+        when(repository.findEndingRowsBetween(tomorrow.plusDays(14), tomorrow.plusDays(14)))
+                .thenReturn(List.of(row(20L, 5L, tomorrow.plusDays(14))));
+
+        calendar.roll(tomorrow);
+
+        verify(repository).findEndingRowsBetween(tomorrow.plusDays(14), tomorrow.plusDays(14));
+        assertThat(calendar.between(TODAY.minusDays(2), TODAY.plusDays(14))).isNull();
+        assertThat(ids(calendar.between(tomorrow.minusDays(2), tomorrow.plusDays(14)))).containsExactly(11L, 12L, 13L, 20L);
+    }
+
+    @Test
+    void rolloverReportsRowsThatCrossedIntoRenewalOrExpiry() {
+        LocalDate tomorrow = TODAY.plusDays(1);
+        calendar.put(subscription(15L, subscriber(4L, "Dina", false), TODAY, false));
+        calendar.put(subscription(16L, subscriber(4L, "Dina", false), tomorrow.plusDays(7), false));
+        calendar.put(subscription(17L, subscriber(4L, "Dina", false), tomorrow.plusDays(8), false));
+        changes.clear();
+        when(repository.findEndingRowsBetween(any(), any())).thenReturn(List.of());
+
+        calendar.roll(tomorrow);
+
+        assertThat(changes).hasSize(1);
+        ExpiryCalendar.WindowChange change = changes.get(0);
+        assertThat(change.today()).isEqualTo(tomorrow);
+        assertThat(change.reset()).isFalse();
+        assertThat(ids(change.upserted())).containsExactlyInAnyOrder(15L, 16L);
+        assertThat(change.removed()).containsExactly(10L);
+    }
+
+    @Test
+    void rolloverAfterAGapReloadsTheWholeWindow() {
+        LocalDate later = TODAY.plusDays(30);
+        when(repository.findEndingRowsBetween(any(), any())).thenReturn(List.of(row(30L, 6L, later)));
+
+        calendar.roll(later);
+
+        verify(repository).findEndingRowsBetween(later.minusDays(2), later.plusDays(14));
+        assertThat(ids(calendar.between(later.minusDays(2), later.plusDays(14)))).containsExactly(30L);
+        assertThat(changes).singleElement().satisfies(change -> assertThat(change.reset()).isTrue());
+    }
+
+    private static List<Long> ids(List<SubscriptionRepository.EndingRow> rows) {
+        return rows.stream().map(SubscriptionRepository.EndingRow::getSubscriptionId).toList();
+    }
+
+    private static SubscriptionRepository.EndingRow row(Long subscriptionId, Long subscriberId, LocalDate endDate) {
+        return new ExpiryCalendar.Entry(subscriptionId, subscriberId, "First" + subscriberId, "Last" + subscriberId, endDate);
+    }
+
+    private static Subscriber subscriber(Long id, String firstName, boolean deleted) {
+        Subscriber subscriber = new Subscriber();
+        subscriber.setId(id);
+        subscriber.setFirstName(firstName);
+        subscriber.setLastName("Test");
+        subscriber.setDeleted(deleted);
+        return subscriber;
+    }
+
+    private static Subscription subscription(Long id, Subscriber subscriber, LocalDate endDate, boolean deleted) {
+        Subscription subscription = new Subscription();
+        subscription.setId(id);
+        subscription.setSubscriber(subscriber);
+        subscription.setStartDate(endDate.minusMonths(1));
+        subscription.setEndDate(endDate);
+        subscription.setDeleted(deleted);
+        return subscription;
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.subscription.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.subscription.model.Subscriber;
+import com.example.subscription.model.Subscription;
+import com.example.subscription.repository.SubscriberRepository;
+import com.example.subscription.repository.SubscriptionRepository;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Guards JDBC batching: with sequence ids and {@code hibernate.jdbc.batch_size=50}, bulk writes must
+ * reach the database as a handful of batches or set-based statements rather than one per row.
+ */
+@SpringBootTest
+class JdbcBatchingTests {
+
+    private static final int ROWS = 120;
+
+    @Autowired
+    private SubscriberRepository subscriberRepository;
+
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+
+    @Autowired
+    private SubscriberService subscriberService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void resetStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            subscriptionRepository.deleteAll(subscriptionRepository.findAll().stream()
+                    .filter(subscription -> subscription.getSubscriber().getEmail().endsWith("@batch.test"))
+                    .toList());
+            subscriberRepository.deleteAll(subscriberRepository.findAll().stream()
+                    .filter(subscriber -> subscriber.getEmail().endsWith("@batch.test"))
+                    .toList());
+        });
+    }
+
+    @Test
+    void saveAllInsertsInBatches() {
+        transactionTemplate.executeWithoutResult(status -> subscriberRepository.saveAll(subscribers(ROWS)));
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(ROWS);
+        // three insert batches plus three sequence calls, far from one statement per row
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(8);
+    }
+
+    @Test
+    void softDeleteCascadeUsesBoundedStatements() {
+        Subscriber subscriber = subscriberRepository.save(subscribers(1).get(0));
+        List<Subscription> subscriptions = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            Subscription subscription = new Subscription();
+            subscription.setSubscriber(subscriber);
+            subscription.setStartDate(LocalDate.now().withDayOfMonth(1).plusDays(i % 28));
+            subscription.setEndDate(LocalDate.now().withDayOfMonth(1).plusMonths(1));
+            subscription.setAmount(new BigDecimal("10.00"));
+            subscriptions.add(subscription);
+        }
+        subscriptionRepository.saveAll(subscriptions);
+        statistics.clear();
+
+        subscriberService.delete(subscriber.getId());
+
+        // id lookup, rollup snapshot, two bulk updates and per-month rollup bookkeeping; nothing per row
+        assertThat(statistics.getEntityUpdateCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(15);
+        assertThat(subscriptionRepository.findBySubscriberIdAndDeletedFalse(subscriber.getId())).isEmpty();
+    }
+
+    private static List<Subscriber> subscribers(int count) {
+        List<Subscriber> subscribers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Subscriber subscriber = new Subscriber();
+            subscriber.setFirstName("Batch");
+            subscriber.setLastName("Row" + i);
+            subscriber.setEmail("row" + i + "@batch.test");
+            subscribers.add(subscriber);
+        }
+        return subscribers;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.subscription.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.Test;
+
+class JwtServiceTests {
+
+    private static final String SECRET = "c3Vic2NyaXB0aW9uLXRlc3Qtc2VjcmV0LWtleS0yNTYtYml0cy10b2tlbg==";
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2030-01-01T10:00:00Z"));
+    private final JwtService jwtService = new JwtService(SECRET, Duration.ofHours(1).toMillis(), 2, clock);
+
+    @Test
+    void validTokenYieldsItsSubject() {
+        String token = jwtService.generateToken("admin");
+
+        assertThat(jwtService.verifiedUsername(token)).contains("admin");
+        assertThat(jwtService.verifiedUsername(token)).contains("admin");
+    }
+
+    @Test
+    void tamperedOrForeignTokensAreRejected() {
+        String token = jwtService.generateToken("admin");
+        String foreign = new JwtService("b3RoZXItc2VjcmV0LWtleS10aGF0LWlzLWxvbmctZW5vdWdoLWZvci1obWFj", 3_600_000, 2, clock)
+                .generateToken("admin");
+
+        assertThat(jwtService.verifiedUsername(token.substring(0, token.length() - 2) + "xx")).isEmpty();
+        assertThat(jwtService.verifiedUsername(foreign)).isEmpty();
+        assertThat(jwtService.verifiedUsername("not-a-jwt")).isEmpty();
+    }
+
+    @Test
+    void cachedTokenStopsWorkingOnceExpired() {
+        String token = jwtService.generateToken("admin");
+        assertThat(jwtService.verifiedUsername(token)).contains("admin");
+
+        clock.advance(Duration.ofMinutes(61));
+
+        assertThat(jwtService.verifiedUsername(token)).isEmpty();
+    }
+
+    @Test
+    void evictedTokensAreVerifiedAgain() {
+        String first = jwtService.generateToken("first");
+        clock.advance(Duration.ofSeconds(1));
+        String second = jwtService.generateToken("second");
+        clock.advance(Duration.ofSeconds(1));
+        String third = jwtService.generateToken("third");
+
+        assertThat(jwtService.verifiedUsername(first)).contains("first");
+        assertThat(jwtService.verifiedUsername(second)).contains("second");
+        assertThat(jwtService.verifiedUsername(third)).contains("third");
+        assertThat(jwtService.verifiedUsername(first)).contains("first");
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
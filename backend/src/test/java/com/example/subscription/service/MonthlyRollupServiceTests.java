@@ -0,0 +1,213 @@
+package com.example.subscription.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.subscription.dto.SubscriberRequest;
+import com.example.subscription.dto.SubscriptionRequest;
+import com.example.subscription.model.MonthlyRollup;
+import com.example.subscription.model.Subscriber;
+import com.example.subscription.model.Subscription;
+import com.example.subscription.repository.MonthlyRollupRepository;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+@SpringBootTest
+@Transactional
+class MonthlyRollupServiceTests {
+
+    private static final LocalDate BASE = LocalDate.of(2031, 3, 10);
+
+    @Autowired
+    private MonthlyRollupService monthlyRollupService;
+
+    @Autowired
+    private MonthlyRollupRepository monthlyRollupRepository;
+
+    @Autowired
+    private SubscriberService subscriberService;
+
+    @Autowired
+    private SubscriptionService subscriptionService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void incrementalMaintenanceMatchesRebuild() {
+        monthlyRollupService.rebuild();
+
+        Subscriber first = subscriberService.create(new SubscriberRequest("Anas", "Rollup", "anas.rollup@example.org", null));
+        Subscriber second = subscriberService.create(new SubscriberRequest("Salma", "Rollup", "salma.rollup@example.org", null));
+
+        Subscription a = subscriptionService.create(request(first, 0, 1, "30.00"));
+        Subscription b = subscriptionService.create(request(first, 1, 3, "45.50"));
+        Subscription c = subscriptionService.create(request(second, 0, 2, "12.00"));
+        Subscription d = subscriptionService.create(request(second, 2, 5, "99.99"));
+
+        subscriptionService.update(b.getId(), request(second, 4, 6, "50.00"));
+        subscriptionService.delete(a.getId());
+        subscriptionService.purge(c.getId(), "000000");
+        subscriberService.delete(first.getId());
+        subscriptionService.update(d.getId(), request(second, 2, 8, "70.00"));
+
+        List<MonthlyRollup> incremental = nonEmptyRollups();
+        monthlyRollupService.rebuild();
+        List<MonthlyRollup> rebuilt = nonEmptyRollups();
+
+        assertThat(incremental).hasSameSizeAs(rebuilt);
+        for (int i = 0; i < rebuilt.size(); i++) {
+            MonthlyRollup expected = rebuilt.get(i);
+            MonthlyRollup actual = incremental.get(i);
+            assertThat(actual.getPeriod()).isEqualTo(expected.getPeriod());
+            assertThat(actual.getRevenue()).as("revenue %s", expected.getPeriod()).isEqualByComparingTo(expected.getRevenue());
+            assertThat(actual.getNewSubscriptions()).as("new %s", expected.getPeriod()).isEqualTo(expected.getNewSubscriptions());
+            assertThat(actual.getExpirations()).as("expirations %s", expected.getPeriod()).isEqualTo(expected.getExpirations());
+            assertThat(actual.getChurnedSubscribers()).as("churn %s", expected.getPeriod()).isEqualTo(expected.getChurnedSubscribers());
+        }
+    }
+
+    @Test
+    void monthlyReturnsRequestedRangeInOrder() {
+        Subscriber subscriber = subscriberService.create(new SubscriberRequest("Reda", "Range", "reda.range@example.org", null));
+        subscriptionService.create(request(subscriber, 0, 2, "20.00"));
+        subscriptionService.create(request(subscriber, 1, 2, "30.00"));
+        entityManager.clear();
+
+        YearMonth start = YearMonth.from(BASE);
+        List<MonthlyRollup> months = monthlyRollupService.monthly(start, start.plusMonths(2));
+
+        assertThat(months).extracting(MonthlyRollup::getPeriod)
+                .containsExactly(MonthlyRollup.periodOf(start), MonthlyRollup.periodOf(start.plusMonths(1)), MonthlyRollup.periodOf(start.plusMonths(2)));
+        assertThat(months.get(0).getRevenue()).isEqualByComparingTo("20.00");
+        assertThat(months.get(1).getNewSubscriptions()).isEqualTo(1);
+        assertThat(months.get(2).getExpirations()).isEqualTo(2);
+        assertThat(months.get(2).getChurnedSubscribers()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentFirstWritesToAMonthAreBothCounted() throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<YearMonth> months = List.of(YearMonth.of(2045, 1), YearMonth.of(2045, 2), YearMonth.of(2045, 3), YearMonth.of(2045, 4));
+        try {
+            for (YearMonth month : months) {
+                CyclicBarrier barrier = new CyclicBarrier(2);
+                Runnable write = () -> transaction.executeWithoutResult(status -> {
+                    await(barrier);
+                    monthlyRollupService.apply(new MonthlyRollupService.Snapshot(List.of(), Map.of()), List.of(transientSubscription(month)));
+                });
+                CompletableFuture.allOf(CompletableFuture.runAsync(write), CompletableFuture.runAsync(write)).get();
+            }
+
+            List<MonthlyRollup> rollups = transaction.execute(status -> monthlyRollupService.monthly(months.get(0), months.get(months.size() - 1)));
+            assertThat(rollups).hasSize(months.size()).allSatisfy(rollup -> {
+                assertThat(rollup.getNewSubscriptions()).isEqualTo(2);
+                assertThat(rollup.getExpirations()).isEqualTo(2);
+            });
+        } finally {
+            transaction.executeWithoutResult(status -> monthlyRollupRepository.deleteAllById(months.stream().map(MonthlyRollup::periodOf).toList()));
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void concurrentWritersForASubscriberKeepChurnInLineWithRebuild() throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        LocalDate base = LocalDate.of(2046, 1, 10);
+        YearMonth from = YearMonth.from(base);
+        List<Long> subscriberIds = new ArrayList<>();
+        try {
+            for (int round = 0; round < 5; round++) {
+                Subscriber subscriber = subscriberService.create(new SubscriberRequest("Churn", "Race" + round, "churn.race" + round + "@example.org", null));
+                subscriberIds.add(subscriber.getId());
+                subscriptionService.create(new SubscriptionRequest(base, base.plusMonths(1), BigDecimal.TEN, subscriber.getId(), null));
+
+                CyclicBarrier barrier = new CyclicBarrier(2);
+                CompletableFuture<?>[] writers = new CompletableFuture<?>[2];
+                for (int writer = 0; writer < writers.length; writer++) {
+                    LocalDate end = base.plusMonths(2 + writer);
+                    writers[writer] = CompletableFuture.runAsync(() -> {
+                        await(barrier);
+                        subscriptionService.create(new SubscriptionRequest(base, end, BigDecimal.ONE, subscriber.getId(), null));
+                    });
+                }
+                CompletableFuture.allOf(writers).get();
+            }
+
+            List<MonthlyRollup> incremental = transaction.execute(status -> monthlyRollupService.monthly(from, from.plusMonths(4)));
+            monthlyRollupService.rebuild();
+            List<MonthlyRollup> rebuilt = transaction.execute(status -> monthlyRollupService.monthly(from, from.plusMonths(4)));
+
+            assertThat(rebuilt).isNotEmpty();
+            assertThat(incremental).extracting(MonthlyRollup::getPeriod).containsExactlyElementsOf(rebuilt.stream().map(MonthlyRollup::getPeriod).toList());
+            for (int i = 0; i < rebuilt.size(); i++) {
+                assertThat(incremental.get(i).getChurnedSubscribers()).as("churn %s", rebuilt.get(i).getPeriod())
+                        .isEqualTo(rebuilt.get(i).getChurnedSubscribers());
+                assertThat(incremental.get(i).getNewSubscriptions()).isEqualTo(rebuilt.get(i).getNewSubscriptions());
+                assertThat(incremental.get(i).getExpirations()).isEqualTo(rebuilt.get(i).getExpirations());
+            }
+        } finally {
+            subscriberService.purgeAll(subscriberIds, "000000");
+        }
+    }
+
+    @Test
+    void rebuildRequiresTheAdminPin() {
+        assertThatThrownBy(() -> monthlyRollupService.rebuild("999999")).isInstanceOf(ResponseStatusException.class);
+        assertThat(monthlyRollupService.rebuild("000000")).isNotNegative();
+    }
+
+    private static Subscription transientSubscription(YearMonth month) {
+        Subscription subscription = new Subscription();
+        subscription.setSubscriber(new Subscriber());
+        subscription.setStartDate(month.atDay(1));
+        subscription.setEndDate(month.atDay(20));
+        subscription.setAmount(BigDecimal.ONE);
+        return subscription;
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private SubscriptionRequest request(Subscriber subscriber, int startOffsetMonths, int endOffsetMonths, String amount) {
+        return new SubscriptionRequest(
+                BASE.plusMonths(startOffsetMonths),
+                BASE.plusMonths(endOffsetMonths),
+                new BigDecimal(amount),
+                subscriber.getId(),
+                null);
+    }
+
+    private List<MonthlyRollup> nonEmptyRollups() {
+        entityManager.flush();
+        entityManager.clear();
+        return monthlyRollupRepository.findAll().stream()
+                .filter(r -> r.getRevenue().signum() != 0 || r.getNewSubscriptions() != 0
+                        || r.getExpirations() != 0 || r.getChurnedSubscribers() != 0)
+                .sorted((left, right) -> left.getPeriod().compareTo(right.getPeriod()))
+                .toList();
+    }
+}
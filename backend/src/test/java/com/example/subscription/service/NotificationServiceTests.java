@@ -0,0 +1,110 @@
+package com.example.subscription.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.subscription.dto.CacheStats;
+import com.example.subscription.dto.NotificationResponse;
+import com.example.subscription.model.Subscriber;
+import com.example.subscription.model.Subscription;
+import com.example.subscription.model.SubscriptionStatus;
+import com.example.subscription.repository.SubscriptionRepository;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class NotificationServiceTests {
+
+    private static final LocalDate TODAY = LocalDate.of(2030, 6, 15);
+
+    private SubscriptionRepository repository;
+    private ExpiryCalendar calendar;
+    private NotificationService notificationService;
+
+    @BeforeEach
+    void load() {
+        repository = mock(SubscriptionRepository.class);
+        when(repository.findEndingRowsBetween(any(), any())).thenReturn(List.of());
+        when(repository.findEndingRowsBetween(TODAY.minusDays(2), TODAY.plusDays(14))).thenReturn(List.of(
+                new ExpiryCalendar.Entry(10L, 1L, "Amal", "Test", TODAY.minusDays(1)),
+                new ExpiryCalendar.Entry(11L, 2L, "Badr", "Test", TODAY.plusDays(5)),
+                new ExpiryCalendar.Entry(12L, 3L, "Chaima", "Test", TODAY.plusDays(10))));
+        calendar = new ExpiryCalendar(repository, event -> notificationService.onWindowChange((ExpiryCalendar.WindowChange) event), true);
+        notificationService = new NotificationService(repository, calendar);
+        calendar.load(TODAY);
+    }
+
+    @Test
+    void todayIsServedFromAnImmutableSnapshot() {
+        List<NotificationResponse> first = notificationService.daily(TODAY);
+        List<NotificationResponse> second = notificationService.daily(TODAY);
+
+        assertThat(second).isSameAs(first);
+        assertThat(first).extracting(NotificationResponse::status)
+                .containsExactly(SubscriptionStatus.EXPIRED, SubscriptionStatus.RENEWAL_REQUIRED, SubscriptionStatus.ACTIVE);
+        assertThatThrownBy(() -> first.remove(0)).isInstanceOf(UnsupportedOperationException.class);
+        CacheStats stats = notificationService.snapshotStats();
+        assertThat(stats.hits()).isEqualTo(2);
+        assertThat(stats.misses()).isZero();
+    }
+
+    @Test
+    void writesInsideTheWindowRegenerateOnTheNextRequest() {
+        List<NotificationResponse> before = notificationService.daily(TODAY);
+
+        calendar.put(subscription(13L, TODAY.plusDays(2)));
+        List<NotificationResponse> after = notificationService.daily(TODAY);
+
+        assertThat(after).isNotSameAs(before);
+        assertThat(after).extracting(NotificationResponse::subscriptionId).containsExactly(10L, 13L, 11L, 12L);
+        assertThat(notificationService.daily(TODAY)).isSameAs(after);
+        assertThat(notificationService.snapshotStats().misses()).isEqualTo(1);
+    }
+
+    @Test
+    void writesOutsideTheWindowKeepTheSnapshot() {
+        List<NotificationResponse> before = notificationService.daily(TODAY);
+
+        calendar.put(subscription(14L, TODAY.plusDays(40)));
+
+        assertThat(notificationService.daily(TODAY)).isSameAs(before);
+    }
+
+    @Test
+    void otherDatesAreComputed() {
+        List<NotificationResponse> today = notificationService.daily(TODAY);
+        List<NotificationResponse> tomorrow = notificationService.daily(TODAY.plusDays(1));
+
+        assertThat(tomorrow).isNotSameAs(today);
+        verify(repository).findEndingRowsBetween(TODAY.minusDays(1), TODAY.plusDays(15));
+        assertThat(notificationService.daily(TODAY)).isSameAs(today);
+    }
+
+    @Test
+    void rolloverPrecomputesTheNewDay() {
+        calendar.roll(TODAY.plusDays(1));
+        long misses = notificationService.snapshotStats().misses();
+
+        List<NotificationResponse> tomorrow = notificationService.daily(TODAY.plusDays(1));
+
+        assertThat(tomorrow).extracting(NotificationResponse::daysUntilEnd).containsExactly(-2L, 4L, 9L);
+        assertThat(notificationService.snapshotStats().misses()).isEqualTo(misses);
+    }
+
+    private static Subscription subscription(Long id, LocalDate endDate) {
+        Subscriber subscriber = new Subscriber();
+        subscriber.setId(4L);
+        subscriber.setFirstName("Dina");
+        subscriber.setLastName("Test");
+        Subscription subscription = new Subscription();
+        subscription.setId(id);
+        subscription.setSubscriber(subscriber);
+        subscription.setEndDate(endDate);
+        return subscription;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.subscription.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.subscription.dto.DashboardStats;
+import com.example.subscription.dto.SubscriberRequest;
+import com.example.subscription.dto.SubscriptionRequest;
+import com.example.subscription.model.Subscriber;
+import com.example.subscription.model.Subscription;
+import com.example.subscription.model.SubscriptionStatus;
+import com.example.subscription.repository.SubscriberRepository;
+import com.example.subscription.repository.SubscriptionRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+class StatsServiceTests {
+
+    @Autowired
+    private StatsService statsService;
+
+    @Autowired
+    private SubscriberService subscriberService;
+
+    @Autowired
+    private SubscriptionService subscriptionService;
+
+    @Autowired
+    private SubscriberRepository subscriberRepository;
+
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+
+    private final List<Long> createdSubscriptions = new ArrayList<>();
+    private final List<Long> createdSubscribers = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        createdSubscriptions.forEach(subscriptionRepository::deleteById);
+        createdSubscribers.forEach(subscriberRepository::deleteById);
+        statsService.invalidate();
+    }
+
+    @Test
+    void dashboardMatchesTotalsOfLiveSubscriptions() {
+        LocalDate today = LocalDate.now();
+        List<Subscription> live = subscriptionRepository.findAllByDeletedFalseAndSubscriberDeletedFalse();
+
+        DashboardStats stats = statsService.dashboard(7);
+
+        assertThat(stats.activeCount()).isEqualTo(count(live, SubscriptionStatus.ACTIVE));
+        assertThat(stats.renewalRequiredCount()).isEqualTo(count(live, SubscriptionStatus.RENEWAL_REQUIRED));
+        assertThat(stats.expiredCount()).isEqualTo(count(live, SubscriptionStatus.EXPIRED));
+        assertThat(stats.activeRevenue()).isEqualByComparingTo(live.stream()
+                .filter(s -> s.getStatus() != SubscriptionStatus.EXPIRED)
+                .map(Subscription::getAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add));
+        assertThat(stats.subscriberCount()).isEqualTo(subscriberRepository.findAllByDeletedFalse().size());
+        assertThat(stats.expiringSoonCount()).isEqualTo(live.stream()
+                .filter(s -> !s.getEndDate().isBefore(today) && !s.getEndDate().isAfter(today.plusDays(7)))
+                .count());
+    }
+
+    @Test
+    void dashboardIsCachedUntilAWriteCommits() {
+        DashboardStats before = statsService.dashboard(7);
+        assertThat(statsService.dashboard(7)).isSameAs(before);
+
+        Subscriber subscriber = subscriberService.create(new SubscriberRequest("Karim", "Stats", "karim.stats@example.org", null));
+        createdSubscribers.add(subscriber.getId());
+        LocalDate today = LocalDate.now();
+        Subscription subscription = subscriptionService.create(new SubscriptionRequest(
+                today.minusDays(20), today.plusDays(3), new BigDecimal("10.00"), subscriber.getId(), null));
+        createdSubscriptions.add(subscription.getId());
+
+        DashboardStats after = statsService.dashboard(7);
+        assertThat(after.subscriberCount()).isEqualTo(before.subscriberCount() + 1);
+        assertThat(after.renewalRequiredCount()).isEqualTo(before.renewalRequiredCount() + 1);
+        assertThat(after.expiringSoonCount()).isEqualTo(before.expiringSoonCount() + 1);
+        assertThat(after.activeRevenue()).isEqualByComparingTo(before.activeRevenue().add(new BigDecimal("10.00")));
+    }
+
+    private long count(List<Subscription> subscriptions, SubscriptionStatus status) {
+        return subscriptions.stream().filter(s -> s.getStatus() == status).count();
+    }
+}
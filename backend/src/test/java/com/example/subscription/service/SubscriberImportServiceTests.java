@@ -0,0 +1,101 @@
+package com.example.subscription.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.subscription.dto.SubscriberImportResult;
+import com.example.subscription.dto.SubscriberRequest;
+import com.example.subscription.model.Subscriber;
+import com.example.subscription.repository.SubscriberRepository;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@Transactional
+class SubscriberImportServiceTests {
+
+    @Autowired
+    private SubscriberImportService subscriberImportService;
+
+    @Autowired
+    private SubscriberService subscriberService;
+
+    @Autowired
+    private SubscriberRepository subscriberRepository;
+
+    @Test
+    void csvImportReportsInvalidAndDuplicateRows() {
+        subscriberService.create(new SubscriberRequest("Existing", "Person", "taken@import.test", null));
+        String csv = "email,first_name,last_name,phone\r\n"
+                + "ana@import.test,\"Ana, Maria\",\"O\"\"Neil\",0600000000\r\n"
+                + "\r\n"
+                + "not-an-email,Bad,Email,\r\n"
+                + "ana@import.test,Ana,Again,\r\n"
+                + "taken@import.test,Taken,Email,\r\n"
+                + "ben@import.test,Ben,Stone\r\n";
+
+        SubscriberImportResult result = subscriberImportService.importCsv(stream(csv));
+
+        assertThat(result.received()).isEqualTo(5);
+        assertThat(result.imported()).isEqualTo(2);
+        assertThat(result.rejected()).isEqualTo(3);
+        assertThat(result.errors()).extracting(SubscriberImportResult.RowError::row).containsExactlyInAnyOrder(2L, 3L, 4L);
+        assertThat(result.errors()).extracting(SubscriberImportResult.RowError::message)
+                .contains("Duplicate email in import", "Email already used");
+
+        Subscriber ana = subscriberRepository.findAllByEmailIn(List.of("ana@import.test")).get(0);
+        assertThat(ana.getFirstName()).isEqualTo("Ana, Maria");
+        assertThat(ana.getLastName()).isEqualTo("O\"Neil");
+        assertThat(ana.getCode()).startsWith("SUB-");
+        assertThat(ana.getDeleted()).isFalse();
+        assertThat(subscriberService.list("o\"neil")).extracting(Subscriber::getEmail).containsExactly("ana@import.test");
+    }
+
+    @Test
+    void jsonImportSpansSeveralBatchesWithUniqueCodes() {
+        String json = IntStream.range(0, 2500)
+                .mapToObj(i -> "{\"firstName\":\"Bulk\",\"lastName\":\"Row" + i + "\",\"email\":\"bulk" + i + "@import.test\"}")
+                .collect(Collectors.joining(",", "[", "]"));
+
+        SubscriberImportResult result = subscriberImportService.importJson(stream(json));
+
+        assertThat(result.imported()).isEqualTo(2500);
+        assertThat(result.errors()).isEmpty();
+        List<Subscriber> imported = subscriberRepository.findAllByEmailIn(
+                IntStream.range(0, 2500).mapToObj(i -> "bulk" + i + "@import.test").toList());
+        assertThat(imported).hasSize(2500);
+        assertThat(imported).extracting(Subscriber::getCode).doesNotHaveDuplicates().doesNotContainNull();
+    }
+
+    @Test
+    void jsonRowsWithWrongShapeAreRejectedIndividually() {
+        String json = "[{\"firstName\":\"Ok\",\"lastName\":\"Row\",\"email\":\"ok@import.test\"},"
+                + "{\"firstName\":[1],\"lastName\":\"Row\",\"email\":\"shape@import.test\"},"
+                + "{\"firstName\":\"\",\"lastName\":\"Row\",\"email\":\"blank@import.test\"}]";
+
+        SubscriberImportResult result = subscriberImportService.importJson(stream(json));
+
+        assertThat(result.imported()).isEqualTo(1);
+        assertThat(result.errors()).extracting(SubscriberImportResult.RowError::row).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void malformedInputIsRejected() {
+        assertThatThrownBy(() -> subscriberImportService.importJson(stream("{\"not\":\"an array\"}")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> subscriberImportService.importCsv(stream("name,mail\r\nx,y\r\n")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
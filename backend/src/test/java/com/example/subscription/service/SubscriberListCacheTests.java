@@ -0,0 +1,60 @@
+package com.example.subscription.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.subscription.dto.SubscriberRequest;
+import com.example.subscription.repository.SubscriberRepository;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+// own database: a new context recreates the schema, restarting the ID sequences under cached contexts
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:subscriber-list-cache;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "app.cache.subscribers.max-size=" + SubscriberListCacheTests.REGION_SIZE
+})
+class SubscriberListCacheTests {
+
+    static final int REGION_SIZE = 5;
+
+    @Autowired
+    private SubscriberService subscriberService;
+
+    @Autowired
+    private SubscriberRepository subscriberRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Long> created = new ArrayList<>();
+
+    @AfterEach
+    void purge() {
+        List<Long> existing = subscriberRepository.findExistingIds(created);
+        if (!existing.isEmpty()) {
+            subscriberService.purgeAll(existing, "000000");
+        }
+        created.clear();
+    }
+
+    @Test
+    void listingMoreSubscribersThanTheEntityRegionHoldsIsOneStatement() {
+        for (int i = 0; i < REGION_SIZE * 4; i++) {
+            created.add(subscriberService.create(new SubscriberRequest("List", "Row" + i, "list.row" + i + "@example.org", null)).getId());
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        subscriberRepository.findAllByDeletedFalse();
+
+        for (int call = 0; call < 2; call++) {
+            long statementsBefore = statistics.getPrepareStatementCount();
+            assertThat(subscriberRepository.findAllByDeletedFalse()).hasSizeGreaterThan(REGION_SIZE * 4 - 1);
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsBefore + 1);
+        }
+    }
+}
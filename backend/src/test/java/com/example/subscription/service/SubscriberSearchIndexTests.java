@@ -0,0 +1,121 @@
+package com.example.subscription.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.example.subscription.dto.SearchIndexStats;
+import com.example.subscription.model.Subscriber;
+import com.example.subscription.repository.SubscriberRepository;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SubscriberSearchIndexTests {
+
+    private SubscriberSearchIndex index;
+
+    @BeforeEach
+    void build() {
+        SubscriberRepository repository = mock(SubscriberRepository.class);
+        when(repository.findAllSearchRows()).thenReturn(List.of(
+                new Row(1L, "alice martin alice@example.com sub-000001", false),
+                new Row(2L, "bob dupont bob@example.com sub-000002", false),
+                new Row(3L, "chloe ben youssef chloe@example.com sub-000003", true)));
+        index = new SubscriberSearchIndex(repository, true);
+        index.build();
+    }
+
+    @Test
+    void findsSubstringsAcrossNameEmailAndCode() {
+        assertThat(index.search("MARTIN", false)).containsExactly(1L);
+        assertThat(index.search("example.com", false)).containsExactly(1L, 2L);
+        assertThat(index.search("sub-00000", true)).containsExactly(1L, 2L, 3L);
+        assertThat(index.search("zzz", true)).isEmpty();
+    }
+
+    @Test
+    void shortQueriesAreAnsweredByScanning() {
+        assertThat(index.search("bo", false)).containsExactly(2L);
+        assertThat(index.search("e", false)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void rejectsTrigramCandidatesThatDoNotContainTheQuery() {
+        Subscriber subscriber = new Subscriber();
+        subscriber.setId(4L);
+        subscriber.setFirstName("Abcd");
+        subscriber.setLastName("Xbcy");
+        subscriber.setEmail("q@q.q");
+        index.put(subscriber);
+
+        // both trigrams of "abcy" ("abc", "bcy") are indexed for this subscriber, the substring is not
+        assertThat(index.search("abcy", false)).isEmpty();
+        assertThat(index.search("d xbc", false)).containsExactly(4L);
+    }
+
+    @Test
+    void deletedSubscribersAreOnlyReturnedWhenRequested() {
+        assertThat(index.search("chloe", false)).isEmpty();
+        assertThat(index.search("chloe", true)).containsExactly(3L);
+
+        index.markDeleted(2L);
+        assertThat(index.search("dupont", false)).isEmpty();
+        assertThat(index.search("dupont", true)).containsExactly(2L);
+    }
+
+    @Test
+    void putReplacesPreviousTextAndEvictDropsTheSubscriber() {
+        Subscriber renamed = new Subscriber();
+        renamed.setId(1L);
+        renamed.setFirstName("Alicia");
+        renamed.setLastName("Keys");
+        renamed.setEmail("alicia@example.com");
+        renamed.setCode("SUB-000001");
+        index.put(renamed);
+
+        assertThat(index.search("martin", true)).isEmpty();
+        assertThat(index.search("keys", false)).containsExactly(1L);
+
+        index.evict(1L);
+        assertThat(index.search("sub-000001", true)).isEmpty();
+    }
+
+    @Test
+    void statsReportSizeAndHitRatio() {
+        index.search("bob", false);
+        index.search("nobody", false);
+
+        SearchIndexStats stats = index.stats();
+        assertThat(stats.ready()).isTrue();
+        assertThat(stats.subscribers()).isEqualTo(3);
+        assertThat(stats.trigrams()).isPositive();
+        assertThat(stats.estimatedBytes()).isPositive();
+        assertThat(stats.hits()).isEqualTo(1);
+        assertThat(stats.misses()).isEqualTo(1);
+    }
+
+    @Test
+    void disabledIndexIsNeverReady() {
+        SubscriberSearchIndex disabled = new SubscriberSearchIndex(mock(SubscriberRepository.class), false);
+        disabled.build();
+        assertThat(disabled.isReady()).isFalse();
+    }
+
+    private record Row(Long id, String searchText, Boolean deleted) implements SubscriberRepository.SearchRow {
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public String getSearchText() {
+            return searchText;
+        }
+
+        @Override
+        public Boolean getDeleted() {
+            return deleted;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.subscription.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.subscription.dto.BulkOperationResult;
+import com.example.subscription.dto.SubscriberRequest;
+import com.example.subscription.dto.SubscriptionRequest;
+import com.example.subscription.model.Subscriber;
+import com.example.subscription.repository.SubscriberRepository;
+import com.example.subscription.repository.SubscriptionRepository;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@Transactional
+class SubscriberServiceTests {
+
+    @Autowired
+    private SubscriberService subscriberService;
+
+    @Autowired
+    private SubscriptionService subscriptionService;
+
+    @Autowired
+    private SubscriberRepository subscriberRepository;
+
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void searchMatchesNameEmailAndCodeCaseInsensitively() {
+        Subscriber created = subscriberService.create(new SubscriberRequest("Rania", "Bennani", "rania.b@example.org", null));
+
+        assertThat(ids(subscriberService.list("rania B"))).contains(created.getId());
+        assertThat(ids(subscriberService.list("RANIA.B@EXAMPLE"))).contains(created.getId());
+        assertThat(ids(subscriberService.list(created.getCode().toLowerCase()))).containsExactly(created.getId());
+        assertThat(subscriberService.list("no-such-subscriber")).isEmpty();
+    }
+
+    @Test
+    void searchTreatsLikeWildcardsLiterally() {
+        Subscriber percent = subscriberService.create(new SubscriberRequest("Zed", "Percent", "zed%1@example.org", null));
+        subscriberService.create(new SubscriberRequest("Zed", "Plain", "zed11@example.org", null));
+
+        assertThat(ids(subscriberService.list("zed%1"))).containsExactly(percent.getId());
+        assertThat(ids(subscriberService.list("zed_1"))).isEmpty();
+    }
+
+    @Test
+    void searchFollowsUpdates() {
+        Subscriber created = subscriberService.create(new SubscriberRequest("Hiba", "Old", "hiba@example.org", null));
+        subscriberService.update(created.getId(), new SubscriberRequest("Hiba", "Renamed", "hiba@example.org", null));
+        entityManager.flush();
+
+        assertThat(ids(subscriberService.list("hiba renamed"))).containsExactly(created.getId());
+        assertThat(subscriberService.list("hiba old")).isEmpty();
+    }
+
+    @Test
+    void bulkDeleteSoftDeletesSubscribersAndTheirSubscriptions() {
+        Subscriber first = subscriberService.create(new SubscriberRequest("Bulk", "One", "bulk.one@example.org", null));
+        Subscriber second = subscriberService.create(new SubscriberRequest("Bulk", "Two", "bulk.two@example.org", null));
+        Subscriber kept = subscriberService.create(new SubscriberRequest("Bulk", "Kept", "bulk.kept@example.org", null));
+        subscriptionService.create(new SubscriptionRequest(LocalDate.now(), LocalDate.now().plusMonths(1), new BigDecimal("10.00"), first.getId(), null));
+        subscriptionService.create(new SubscriptionRequest(LocalDate.now(), LocalDate.now().plusMonths(2), new BigDecimal("20.00"), second.getId(), null));
+        subscriptionService.create(new SubscriptionRequest(LocalDate.now(), LocalDate.now().plusMonths(2), new BigDecimal("30.00"), kept.getId(), null));
+
+        BulkOperationResult result = subscriberService.deleteAll(List.of(first.getId(), second.getId(), -1L));
+
+        assertThat(result.processed()).containsExactly(first.getId(), second.getId());
+        assertThat(result.notFound()).containsExactly(-1L);
+        assertThat(subscriptionRepository.findBySubscriberIdAndDeletedFalse(first.getId())).isEmpty();
+        assertThat(subscriptionRepository.findBySubscriberIdAndDeletedFalse(second.getId())).isEmpty();
+        assertThat(subscriptionRepository.findBySubscriberIdAndDeletedFalse(kept.getId())).hasSize(1);
+        assertThat(subscriberService.list("bulk")).extracting(Subscriber::getId).containsExactly(kept.getId());
+        assertThat(subscriberService.deleteAll(List.of(first.getId())).notFound()).containsExactly(first.getId());
+    }
+
+    @Test
+    void bulkPurgeRemovesSubscribersAndSubscriptions() {
+        Subscriber deleted = subscriberService.create(new SubscriberRequest("Purge", "Deleted", "purge.deleted@example.org", null));
+        Subscriber live = subscriberService.create(new SubscriberRequest("Purge", "Live", "purge.live@example.org", null));
+        subscriptionService.create(new SubscriptionRequest(LocalDate.now(), LocalDate.now().plusMonths(1), new BigDecimal("10.00"), live.getId(), null));
+        subscriberService.delete(deleted.getId());
+
+        BulkOperationResult result = subscriberService.purgeAll(List.of(deleted.getId(), live.getId()), "000000");
+
+        assertThat(result.processed()).containsExactly(deleted.getId(), live.getId());
+        assertThat(subscriberRepository.findAllById(List.of(deleted.getId(), live.getId()))).isEmpty();
+        assertThat(subscriptionRepository.findBySubscriberId(live.getId())).isEmpty();
+    }
+
+    private List<Long> ids(List<Subscriber> subscribers) {
+        return subscribers.stream().map(Subscriber::getId).toList();
+    }
+}
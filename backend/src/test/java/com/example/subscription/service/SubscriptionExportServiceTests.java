@@ -0,0 +1,112 @@
+package com.example.subscription.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.subscription.dto.SubscriptionView;
+import com.example.subscription.model.Subscriber;
+import com.example.subscription.model.Subscription;
+import com.example.subscription.repository.SubscriberRepository;
+import com.example.subscription.repository.SubscriptionRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@Transactional
+class SubscriptionExportServiceTests {
+
+    @Autowired
+    private SubscriptionExportService subscriptionExportService;
+
+    @Autowired
+    private SubscriptionService subscriptionService;
+
+    @Autowired
+    private SubscriberRepository subscriberRepository;
+
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void seed() {
+        Subscriber quoted = new Subscriber();
+        quoted.setFirstName("Jean, \"JJ\"");
+        quoted.setLastName("Export");
+        quoted.setEmail("jj.export@example.org");
+        Subscriber plain = new Subscriber();
+        plain.setFirstName("Sara");
+        plain.setLastName("Export");
+        plain.setEmail("sara.export@example.org");
+        subscriberRepository.saveAll(List.of(quoted, plain));
+
+        LocalDate today = LocalDate.now();
+        List<Subscription> subscriptions = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            Subscription subscription = new Subscription();
+            subscription.setSubscriber(i % 2 == 0 ? quoted : plain);
+            subscription.setStartDate(today.minusDays(i % 4));
+            subscription.setEndDate(today.plusDays(30));
+            subscription.setAmount(new BigDecimal("19.90"));
+            subscriptions.add(subscription);
+        }
+        subscriptionRepository.saveAll(subscriptions);
+    }
+
+    @Test
+    void csvExportEscapesFieldsAndFollowsHistoryOrder() {
+        List<String> lines = export("export", SubscriptionExportService.Format.CSV).lines().toList();
+
+        assertThat(lines.get(0)).startsWith("id,startDate,endDate,amount,status");
+        assertThat(lines).hasSize(13);
+        assertThat(lines).anyMatch(line -> line.contains(",\"Jean, \"\"JJ\"\"\",Export,"));
+
+        List<Long> exportedIds = lines.stream().skip(1).map(line -> Long.valueOf(line.substring(0, line.indexOf(',')))).toList();
+        List<Long> historyIds = subscriptionService.history(null, null, null, "export", null, null, null).stream()
+                .map(SubscriptionView::id)
+                .toList();
+        assertThat(exportedIds).containsExactlyElementsOf(historyIds);
+    }
+
+    @Test
+    void ndjsonExportWritesOneObjectPerLine() throws Exception {
+        String body = export("export", SubscriptionExportService.Format.NDJSON);
+
+        List<String> lines = body.lines().toList();
+        assertThat(lines).hasSize(12);
+        assertThat(body).endsWith("\n");
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertThat(first.get("subscriberLastName").asText()).isEqualTo("Export");
+        assertThat(first.get("amount").decimalValue()).isEqualByComparingTo("19.90");
+    }
+
+    @Test
+    void emptyNdjsonExportIsEmpty() {
+        assertThat(export("no-such-subscriber", SubscriptionExportService.Format.NDJSON)).isEmpty();
+    }
+
+    @Test
+    void unknownFormatIsRejected() {
+        assertThatThrownBy(() -> SubscriptionExportService.Format.parse("xml"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private String export(String search, SubscriptionExportService.Format format) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        subscriptionExportService.exportHistory(null, null, null, search, null, null, null, format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,286 @@
+package com.example.subscription.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.subscription.dto.CursorPage;
+import com.example.subscription.dto.SubscriptionView;
+import com.example.subscription.model.Subscriber;
+import com.example.subscription.model.Subscription;
+import com.example.subscription.model.SubscriptionStatus;
+import com.example.subscription.repository.SubscriberRepository;
+import com.example.subscription.repository.SubscriptionRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@Transactional
+class SubscriptionServiceTests {
+
+    @Autowired
+    private SubscriptionService subscriptionService;
+
+    @Autowired
+    private SubscriberRepository subscriberRepository;
+
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+
+    @Autowired
+    private SubscriptionStatusJob subscriptionStatusJob;
+
+    private Subscriber firstSubscriber;
+
+    @BeforeEach
+    void seed() {
+        Random random = new Random(42);
+        LocalDate today = LocalDate.now();
+        String[][] people = {
+            {"Nadia", "El Amrani", "nadia@example.org", null},
+            {"Omar", "Percent_Sign", "omar%50@example.org", "SUB-900001"},
+            {"Lea", "Rousseau", "lea@example.org", "SUB-900002"},
+            {"Yanis", "Karimi", "yanis@example.org", "SUB-900003"},
+            {"Ines", "Deleted", "ines@example.org", "SUB-900004"}
+        };
+
+        List<Subscriber> subscribers = new ArrayList<>();
+        for (String[] person : people) {
+            Subscriber subscriber = new Subscriber();
+            subscriber.setFirstName(person[0]);
+            subscriber.setLastName(person[1]);
+            subscriber.setEmail(person[2]);
+            subscriber.setCode(person[3]);
+            subscribers.add(subscriber);
+        }
+        subscribers.get(4).setDeleted(true);
+        subscriberRepository.saveAll(subscribers);
+        firstSubscriber = subscribers.get(0);
+
+        List<Subscription> subscriptions = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            Subscription subscription = new Subscription();
+            subscription.setSubscriber(subscribers.get(random.nextInt(subscribers.size())));
+            LocalDate start = today.minusDays(random.nextInt(400));
+            subscription.setStartDate(start);
+            subscription.setEndDate(today.plusDays(random.nextInt(40) - 20));
+            subscription.setAmount(new BigDecimal(40 + random.nextInt(5) + ".00"));
+            subscription.setDeleted(random.nextInt(8) == 0);
+            subscriptions.add(subscription);
+        }
+        subscriptionRepository.saveAll(subscriptions);
+        subscriptionStatusJob.refresh(today);
+    }
+
+    @Test
+    void listFilteredMatchesInMemoryFilteringForEveryParameterCombination() {
+        LocalDate today = LocalDate.now();
+        List<LocalDate> startDates = Arrays.asList(null, today.minusDays(90));
+        List<LocalDate> endDates = Arrays.asList(null, today.plusDays(5), today.minusDays(1));
+        List<SubscriptionStatus> statuses = new ArrayList<>(Arrays.asList(SubscriptionStatus.values()));
+        statuses.add(null);
+        List<Long> subscriberIds = Arrays.asList(null, firstSubscriber.getId());
+        List<String> searches = Arrays.asList(null, " ", "nadia", "EL AM", "sub-9000", "%50", "r_u", "example");
+
+        for (LocalDate startDate : startDates) {
+            for (LocalDate endDate : endDates) {
+                for (SubscriptionStatus status : statuses) {
+                    for (Long subscriberId : subscriberIds) {
+                        for (String search : searches) {
+                            List<Long> expected = inMemoryFilter(startDate, endDate, status, subscriberId, search);
+                            List<Long> actual = ids(subscriptionService.listFiltered(startDate, endDate, status, subscriberId, search));
+                            assertThat(actual)
+                                    .as("start=%s end=%s status=%s subscriber=%s search=%s", startDate, endDate, status, subscriberId, search)
+                                    .containsExactlyInAnyOrderElementsOf(expected);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void listFilteredReturnsMaterializedStatus() {
+        LocalDate today = LocalDate.now();
+        for (SubscriptionView subscription : subscriptionService.listFiltered(null, null, null, null, null)) {
+            long daysUntilEnd = ChronoUnit.DAYS.between(today, subscription.endDate());
+            SubscriptionStatus expected = daysUntilEnd < 0
+                    ? SubscriptionStatus.EXPIRED
+                    : daysUntilEnd <= 7 ? SubscriptionStatus.RENEWAL_REQUIRED : SubscriptionStatus.ACTIVE;
+            assertThat(subscription.status()).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void listViewsCarryTheSubscriberSummary() {
+        List<SubscriptionView> views = subscriptionService.listFiltered(null, null, null, firstSubscriber.getId(), null);
+
+        assertThat(views).isNotEmpty().allSatisfy(view -> {
+            assertThat(view.subscriber().id()).isEqualTo(firstSubscriber.getId());
+            assertThat(view.subscriber().email()).isEqualTo(firstSubscriber.getEmail());
+            assertThat(view.subscriber().deleted()).isFalse();
+        });
+    }
+
+    @Test
+    void historyMatchesInMemoryFiltering() {
+        int year = LocalDate.now().getYear();
+        int month = LocalDate.now().getMonthValue();
+        List<Integer> years = Arrays.asList(null, year, year - 1);
+        List<Integer> months = Arrays.asList(null, month);
+        List<String> searches = Arrays.asList(null, "nadia", "sub-9000", "%50");
+        List<SubscriptionStatus> statuses = Arrays.asList(null, SubscriptionStatus.EXPIRED, SubscriptionStatus.RENEWAL_REQUIRED);
+        List<BigDecimal> amounts = Arrays.asList(null, new BigDecimal("42.00"));
+        List<String> deletedTargets = Arrays.asList(null, "subscription", "SUBSCRIBER", "ANY", "other");
+
+        for (Integer y : years) {
+            for (Integer m : months) {
+                for (String search : searches) {
+                    for (SubscriptionStatus status : statuses) {
+                        for (BigDecimal amount : amounts) {
+                            for (String deletedTarget : deletedTargets) {
+                                List<Long> expected = inMemoryHistory(y, m, search, status, amount, deletedTarget);
+                                List<Long> actual = ids(subscriptionService.history(y, m, null, search, status, amount, deletedTarget));
+                                assertThat(actual)
+                                        .as("year=%s month=%s search=%s status=%s amount=%s target=%s", y, m, search, status, amount, deletedTarget)
+                                        .containsExactlyInAnyOrderElementsOf(expected);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void listPagesWalkTheWholeResultInEndDateOrder() {
+        List<SubscriptionView> all = new ArrayList<>(subscriptionService.listFiltered(null, null, null, null, null));
+        all.sort(Comparator.comparing(SubscriptionView::endDate).thenComparing(SubscriptionView::id));
+
+        List<Long> walked = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<SubscriptionView> page = subscriptionService.listPage(null, null, null, null, null, cursor, 7);
+            assertThat(page.items()).hasSizeLessThanOrEqualTo(7);
+            walked.addAll(ids(page.items()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertThat(walked).containsExactlyElementsOf(ids(all));
+    }
+
+    @Test
+    void historyPagesWalkTheWholeResultInStartDateOrder() {
+        List<SubscriptionView> all = subscriptionService.history(null, null, null, null, null, null, "ANY");
+
+        List<Long> walked = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<SubscriptionView> page = subscriptionService.historyPage(null, null, null, null, null, null, "ANY", cursor, 5);
+            walked.addAll(ids(page.items()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertThat(walked).containsExactlyElementsOf(ids(all));
+        assertThat(all).isSortedAccordingTo(Comparator.comparing(SubscriptionView::startDate).reversed());
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertThatThrownBy(() -> subscriptionService.listPage(null, null, null, null, null, "not-a-cursor", 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /** Reference implementation: the former in-memory stream filtering of listFiltered. */
+    private List<Long> inMemoryFilter(LocalDate startDate, LocalDate endDate, SubscriptionStatus status, Long subscriberId, String search) {
+        LocalDate today = LocalDate.now();
+        return subscriptionRepository.findAllByDeletedFalseAndSubscriberDeletedFalse().stream()
+                .filter(s -> startDate == null || !s.getStartDate().isBefore(startDate))
+                .filter(s -> endDate == null || !s.getEndDate().isAfter(endDate))
+                .filter(s -> {
+                    if (status == null) {
+                        return true;
+                    }
+                    long daysUntilEnd = ChronoUnit.DAYS.between(today, s.getEndDate());
+                    SubscriptionStatus resolved = daysUntilEnd < 0
+                            ? SubscriptionStatus.EXPIRED
+                            : daysUntilEnd <= 7 ? SubscriptionStatus.RENEWAL_REQUIRED : SubscriptionStatus.ACTIVE;
+                    return resolved == status;
+                })
+                .filter(s -> subscriberId == null || subscriberId.equals(s.getSubscriber().getId()))
+                .filter(s -> {
+                    if (search == null || search.isBlank()) {
+                        return true;
+                    }
+                    String candidate = (s.getSubscriber().getFirstName() + " "
+                            + s.getSubscriber().getLastName() + " "
+                            + s.getSubscriber().getEmail() + " "
+                            + (s.getSubscriber().getCode() == null ? "" : s.getSubscriber().getCode()))
+                            .toLowerCase();
+                    return candidate.contains(search.toLowerCase());
+                })
+                .map(Subscription::getId)
+                .collect(Collectors.toList());
+    }
+
+    /** Reference implementation: the former in-memory stream filtering of history. */
+    private List<Long> inMemoryHistory(Integer year, Integer month, String search, SubscriptionStatus status, BigDecimal amount, String deletedTarget) {
+        String target = deletedTarget == null ? "" : deletedTarget.trim().toUpperCase();
+        List<Subscription> source = target.isBlank()
+                ? subscriptionRepository.findAllByDeletedFalseAndSubscriberDeletedFalse()
+                : subscriptionRepository.findAll();
+        LocalDate today = LocalDate.now();
+        return source.stream()
+                .filter(s -> year == null || s.getStartDate().getYear() == year)
+                .filter(s -> month == null || s.getStartDate().getMonthValue() == month)
+                .filter(s -> {
+                    if (search == null || search.isBlank()) {
+                        return true;
+                    }
+                    String candidate = (s.getSubscriber().getFirstName() + " "
+                            + s.getSubscriber().getLastName() + " "
+                            + s.getSubscriber().getEmail() + " "
+                            + (s.getSubscriber().getCode() == null ? "" : s.getSubscriber().getCode()))
+                            .toLowerCase();
+                    return candidate.contains(search.toLowerCase());
+                })
+                .filter(s -> {
+                    if (status == null) {
+                        return true;
+                    }
+                    long daysUntilEnd = ChronoUnit.DAYS.between(today, s.getEndDate());
+                    SubscriptionStatus resolved = daysUntilEnd < 0
+                            ? SubscriptionStatus.EXPIRED
+                            : daysUntilEnd <= 7 ? SubscriptionStatus.RENEWAL_REQUIRED : SubscriptionStatus.ACTIVE;
+                    return resolved == status;
+                })
+                .filter(s -> amount == null || s.getAmount().compareTo(amount) == 0)
+                .filter(s -> {
+                    boolean subscriptionDeleted = Boolean.TRUE.equals(s.getDeleted());
+                    boolean subscriberDeleted = Boolean.TRUE.equals(s.getSubscriber().getDeleted());
+                    return switch (target) {
+                        case "SUBSCRIPTION" -> subscriptionDeleted;
+                        case "SUBSCRIBER" -> subscriberDeleted;
+                        case "ANY" -> subscriptionDeleted || subscriberDeleted;
+                        default -> !subscriptionDeleted && !subscriberDeleted;
+                    };
+                })
+                .map(Subscription::getId)
+                .collect(Collectors.toList());
+    }
+
+    private List<Long> ids(List<SubscriptionView> subscriptions) {
+        return subscriptions.stream().map(SubscriptionView::id).collect(Collectors.toList());
+    }
+}
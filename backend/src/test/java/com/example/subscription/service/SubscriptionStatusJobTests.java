@@ -0,0 +1,72 @@
+package com.example.subscription.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.subscription.model.Subscriber;
+import com.example.subscription.model.Subscription;
+import com.example.subscription.model.SubscriptionStatus;
+import com.example.subscription.repository.SubscriberRepository;
+import com.example.subscription.repository.SubscriptionRepository;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@Transactional
+class SubscriptionStatusJobTests {
+
+    @Autowired
+    private SubscriptionStatusJob subscriptionStatusJob;
+
+    @Autowired
+    private SubscriberRepository subscriberRepository;
+
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void refreshMovesStatusesAcrossEndDateThresholds() {
+        LocalDate today = LocalDate.of(2030, 1, 15);
+        Subscriber subscriber = new Subscriber();
+        subscriber.setFirstName("Sami");
+        subscriber.setLastName("Haddad");
+        subscriber.setEmail("sami.status@example.org");
+        subscriberRepository.save(subscriber);
+
+        Subscription expired = save(subscriber, today.minusDays(1), SubscriptionStatus.ACTIVE);
+        Subscription dueToday = save(subscriber, today, SubscriptionStatus.ACTIVE);
+        Subscription dueInAWeek = save(subscriber, today.plusDays(7), SubscriptionStatus.EXPIRED);
+        Subscription active = save(subscriber, today.plusDays(8), SubscriptionStatus.RENEWAL_REQUIRED);
+        entityManager.flush();
+
+        subscriptionStatusJob.refresh(today);
+        entityManager.clear();
+
+        assertThat(statusOf(expired)).isEqualTo(SubscriptionStatus.EXPIRED);
+        assertThat(statusOf(dueToday)).isEqualTo(SubscriptionStatus.RENEWAL_REQUIRED);
+        assertThat(statusOf(dueInAWeek)).isEqualTo(SubscriptionStatus.RENEWAL_REQUIRED);
+        assertThat(statusOf(active)).isEqualTo(SubscriptionStatus.ACTIVE);
+        assertThat(subscriptionStatusJob.refresh(today)).isZero();
+    }
+
+    private Subscription save(Subscriber subscriber, LocalDate endDate, SubscriptionStatus status) {
+        Subscription subscription = new Subscription();
+        subscription.setSubscriber(subscriber);
+        subscription.setStartDate(endDate.minusMonths(1));
+        subscription.setEndDate(endDate);
+        subscription.setAmount(new BigDecimal("20.00"));
+        subscription.setStatus(status);
+        return subscriptionRepository.save(subscription);
+    }
+
+    private SubscriptionStatus statusOf(Subscription subscription) {
+        return subscriptionRepository.findById(subscription.getId()).orElseThrow().getStatus();
+    }
+}
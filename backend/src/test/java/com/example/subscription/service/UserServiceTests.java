@@ -0,0 +1,200 @@
+package com.example.subscription.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.subscription.dto.AuthRequest;
+import com.example.subscription.dto.CacheStats;
+import com.example.subscription.model.AppUser;
+import com.example.subscription.repository.AppUserRepository;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+class UserServiceTests {
+
+    // minimum cost, so hashing stays cheap in tests
+    private static final PasswordEncoder PASSWORD_ENCODER = new BCryptPasswordEncoder(4);
+    private static final String SECRET_HASH = PASSWORD_ENCODER.encode("secret");
+
+    private final AppUserRepository appUserRepository = mock(AppUserRepository.class);
+    private final PasswordEncoder passwordEncoder = PASSWORD_ENCODER;
+    private final PasswordVerifier passwordVerifier = new PasswordVerifier(passwordEncoder, 1, 4, 5_000);
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        JwtService jwtService = mock(JwtService.class);
+        when(jwtService.generateToken(any())).thenReturn("token");
+        userService = new UserService(
+                appUserRepository,
+                jwtService,
+                new UserDetailsCache(60_000, 2),
+                passwordEncoder,
+                passwordVerifier,
+                new LoginThrottle(3, 2, 60_000));
+        when(appUserRepository.findByUsername("admin")).thenReturn(Optional.of(user("admin", SECRET_HASH)));
+        when(appUserRepository.save(any(AppUser.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordVerifier.shutdown();
+    }
+
+    @Test
+    void repeatedLookupsHitTheCache() {
+        userService.loadUserByUsername("admin");
+        UserDetails second = userService.loadUserByUsername("admin");
+
+        assertThat(second.getUsername()).isEqualTo("admin");
+        verify(appUserRepository, times(1)).findByUsername("admin");
+        CacheStats stats = userService.userDetailsCacheStats();
+        assertThat(stats.hits()).isEqualTo(1);
+        assertThat(stats.misses()).isEqualTo(1);
+        assertThat(stats.hitRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    void savingAUserEvictsIt() {
+        userService.loadUserByUsername("admin");
+        userService.save("admin", "changed", AppUser.Role.ADMIN);
+        userService.loadUserByUsername("admin");
+
+        verify(appUserRepository, times(2)).findByUsername("admin");
+    }
+
+    @Test
+    void erasingCredentialsOnAReturnedCopyKeepsTheCachedPassword() {
+        ((CredentialsContainer) userService.loadUserByUsername("admin")).eraseCredentials();
+
+        assertThat(userService.loadUserByUsername("admin").getPassword()).isEqualTo(SECRET_HASH);
+    }
+
+    @Test
+    void cacheStaysWithinItsSizeBound() {
+        for (String name : new String[] {"a", "b", "c"}) {
+            when(appUserRepository.findByUsername(name)).thenReturn(Optional.of(user(name, "x")));
+            userService.loadUserByUsername(name);
+        }
+
+        assertThat(userService.userDetailsCacheStats().size()).isEqualTo(2);
+    }
+
+    @Test
+    void unknownUsersAreNotCached() {
+        assertThatThrownBy(() -> userService.loadUserByUsername("ghost")).isInstanceOf(UsernameNotFoundException.class);
+        assertThat(userService.userDetailsCacheStats().size()).isZero();
+    }
+
+    @Test
+    void authenticateChecksThePasswordAndIssuesAToken() {
+        when(appUserRepository.findByUsername("plain")).thenReturn(Optional.of(user("plain", SECRET_HASH)));
+
+        assertThat(userService.authenticate(new AuthRequest("plain", "secret"), "10.0.0.1").token()).isEqualTo("token");
+        assertThatThrownBy(() -> userService.authenticate(new AuthRequest("plain", "wrong"), "10.0.0.1"))
+                .isInstanceOf(BadCredentialsException.class);
+        assertThatThrownBy(() -> userService.authenticate(new AuthRequest("nobody", "secret"), "10.0.0.1"))
+                .isInstanceOf(BadCredentialsException.class);
+    }
+
+    @Test
+    void repeatedFailuresLockTheUsernameOutForThatClientOnly() {
+        when(appUserRepository.findByUsername("plain")).thenReturn(Optional.of(user("plain", SECRET_HASH)));
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> userService.authenticate(new AuthRequest("plain", "wrong"), "10.0.1.1"))
+                    .isInstanceOf(BadCredentialsException.class);
+        }
+
+        assertThatThrownBy(() -> userService.authenticate(new AuthRequest("plain", "secret"), "10.0.1.1"))
+                .isInstanceOf(TooManyAttemptsException.class);
+        assertThat(userService.authenticate(new AuthRequest("plain", "secret"), "10.0.1.9").token()).isEqualTo("token");
+    }
+
+    @Test
+    void unknownUsersCostAPasswordCheck() {
+        PasswordEncoder encoder = mock(PasswordEncoder.class);
+        when(encoder.encode(any())).thenReturn("unknown-user-hash");
+        PasswordVerifier verifier = new PasswordVerifier(encoder, 1, 4, 5_000);
+        try {
+            UserService service = new UserService(appUserRepository, mock(JwtService.class), new UserDetailsCache(60_000, 2),
+                    encoder, verifier, new LoginThrottle(3, 2, 60_000));
+
+            assertThatThrownBy(() -> service.authenticate(new AuthRequest("nobody", "guess"), "10.0.3.1"))
+                    .isInstanceOf(BadCredentialsException.class);
+            verify(encoder).matches("guess", "unknown-user-hash");
+        } finally {
+            verifier.shutdown();
+        }
+    }
+
+    @Test
+    void anIpIsLimitedToItsAttemptBudget() {
+        when(appUserRepository.findByUsername("plain")).thenReturn(Optional.of(user("plain", SECRET_HASH)));
+        for (int i = 0; i < 3; i++) {
+            userService.authenticate(new AuthRequest("plain", "secret"), "10.0.2.1");
+        }
+
+        assertThatThrownBy(() -> userService.authenticate(new AuthRequest("plain", "secret"), "10.0.2.1"))
+                .isInstanceOf(TooManyAttemptsException.class);
+        assertThat(userService.authenticate(new AuthRequest("plain", "secret"), "10.0.2.2").token()).isEqualTo("token");
+    }
+
+    @Test
+    void saturatedVerifierRefusesInsteadOfQueueingWithoutBound() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return true;
+            }
+        };
+        PasswordVerifier verifier = new PasswordVerifier(blocking, 1, 1, 5_000);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            callers.submit(() -> verifier.matches("a", "a"));
+            callers.submit(() -> verifier.matches("b", "b"));
+            Thread.sleep(200);
+
+            assertThatThrownBy(() -> verifier.matches("c", "c"))
+                    .isInstanceOf(ServiceBusyException.class);
+        } finally {
+            release.countDown();
+            callers.shutdown();
+            verifier.shutdown();
+        }
+    }
+
+    private static AppUser user(String username, String password) {
+        AppUser user = new AppUser();
+        user.setUsername(username);
+        user.setPassword(password);
+        user.setRole(AppUser.Role.ADMIN);
+        return user;
+    }
+}
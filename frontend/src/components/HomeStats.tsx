@@ -1,7 +1,7 @@
 "use client";
 
 import { useEffect, useMemo, useState } from "react";
-import { fetchSubscribers, fetchSubscriptions } from "@/lib/api";
+import { fetchStats, fetchSubscriptions } from "@/lib/api";
 import { StatsCards } from "@/components/StatsCards";
 import { Locale } from "@/i18n/config";
 import { formatCurrency, readSettings, SETTINGS_EVENT } from "@/lib/settings";
@@ -35,21 +35,12 @@ export function HomeStats({ labels, locale }: { labels: HomeLabels; locale: Loca
     setCurrency(saved.currency);
 
     const refresh = async () => {
-      const [subscriptions, subscribers] = await Promise.all([
-        fetchSubscriptions(),
-        fetchSubscribers(),
-      ]);
-
-      const active = subscriptions.filter((subscription) => subscription.status === "ACTIVE").length;
-      const expiring = subscriptions.filter((subscription) => subscription.status === "RENEWAL_REQUIRED").length;
-      const recurringRevenue = subscriptions
-        .filter((subscription) => subscription.status !== "EXPIRED")
-        .reduce((sum, subscription) => sum + Number(subscription.amount || 0), 0);
-
-      setActiveCount(active);
-      setExpiringCount(expiring);
-      setSubscribersCount(subscribers.length);
-      setMrr(recurringRevenue);
+      const stats = await fetchStats();
+
+      setActiveCount(stats.activeCount);
+      setExpiringCount(stats.renewalRequiredCount);
+      setSubscribersCount(stats.subscriberCount);
+      setMrr(Number(stats.activeRevenue || 0));
     };
 
     refresh();
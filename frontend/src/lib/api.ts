@@ -1,4 +1,4 @@
-import { Notification, Subscriber, Subscription, SubscriptionUpsertPayload } from "@/lib/types";
+import { DashboardStats, Notification, Subscriber, Subscription, SubscriptionUpsertPayload } from "@/lib/types";
 import { sampleNotifications, sampleSubscribers, sampleSubscriptions } from "@/lib/sampleData";
 
 const API_BASE = process.env.NEXT_PUBLIC_API_BASE_URL || "/backend-api";
@@ -174,3 +174,21 @@ export async function fetchNotifications(date?: string): Promise<Notification[]>
     return sampleNotifications;
   }
 }
+
+export async function fetchStats(expiringWithinDays = 7): Promise<DashboardStats> {
+  try {
+    return await request(`/stats?expiringWithinDays=${expiringWithinDays}`);
+  } catch {
+    const live = sampleSubscriptions.filter((subscription) => subscription.status !== "EXPIRED");
+    return {
+      activeCount: sampleSubscriptions.filter((subscription) => subscription.status === "ACTIVE").length,
+      renewalRequiredCount: sampleSubscriptions.filter((subscription) => subscription.status === "RENEWAL_REQUIRED").length,
+      expiredCount: sampleSubscriptions.length - live.length,
+      activeRevenue: live.reduce((sum, subscription) => sum + Number(subscription.amount || 0), 0),
+      subscriberCount: sampleSubscribers.length,
+      expiringSoonCount: sampleNotifications.length,
+      expiringWithinDays,
+      referenceDate: new Date().toISOString().slice(0, 10),
+    };
+  }
+}
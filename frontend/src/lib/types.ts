@@ -39,3 +39,14 @@ export type Notification = {
   daysUntilEnd: number;
   status: SubscriptionStatus;
 };
+
+export type DashboardStats = {
+  activeCount: number;
+  renewalRequiredCount: number;
+  expiredCount: number;
+  activeRevenue: number;
+  subscriberCount: number;
+  expiringSoonCount: number;
+  expiringWithinDays: number;
+  referenceDate: string;
+};